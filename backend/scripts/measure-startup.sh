@@ -0,0 +1,125 @@
+#!/usr/bin/env bash
+# 기본 이미지(runtime)와 fast-start 이미지의 기동/첫 응답 시간을 비교한다.
+#
+# 측정 항목 (컨테이너 시작 시각 기준, 밀리초)
+#   ready      : /api/risk-analysis/health가 200을 반환할 때까지 (fast-start는 워밍업 포함)
+#   first      : ready 이후 첫 simulate 요청의 응답 시간
+#   steady-p50 : 이어지는 simulate 요청들의 중앙값 (JIT 워밍업 완료 후 기준선)
+#   ttffr      : 시작부터 steady-p50의 1.5배 이내로 응답한 첫 simulate 요청이 끝날 때까지 (time-to-first-fast-response)
+#
+# 사용법: backend/scripts/measure-startup.sh [반복 횟수] [결과 파일]
+# Jira 대신 jira-stub 컨테이너(STUB 프로젝트 1,000건)를 사용하므로 네트워크가 필요 없다.
+# 결과 파일에는 실행별 표와 이미지별 중앙값 표를 쓰며, UPDATE_README=1이면 중앙값 표와 측정 환경을
+# README.md의 startup-results 표시 구간에 덮어쓴다.
+set -euo pipefail
+
+RUNS=${1:-5}
+OUTPUT=${2:-startup-results.md}
+PROJECT=${PROJECT:-STUB}
+ITERATIONS=${ITERATIONS:-10000}
+STEADY_REQUESTS=${STEADY_REQUESTS:-20}
+UPDATE_README=${UPDATE_README:-0}
+NETWORK=pra-startup-bench
+PORT=18081
+STUB_PORT=18091
+BACKEND_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+README="$BACKEND_DIR/../README.md"
+
+now_ms() { date +%s%3N; }
+
+cleanup() {
+    docker rm -f pra-bench-backend pra-bench-stub >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker build -q --target runtime -t pra-backend:runtime "$BACKEND_DIR" >/dev/null
+docker build -q --target fast-start -t pra-backend:fast-start "$BACKEND_DIR" >/dev/null
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name pra-bench-stub --network "$NETWORK" -p "$STUB_PORT:8080" \
+    -e SPRING_PROFILES_ACTIVE=docker,jira-stub -e HISTORY_ENABLED=false \
+    -e JIRA_STUB_PROJECTS="$PROJECT:1000" pra-backend:runtime >/dev/null
+until curl -sf -o /dev/null "http://localhost:$STUB_PORT/rest/api/2/project"; do sleep 0.5; done
+
+simulate_ms() {
+    curl -s -o /dev/null -w '%{time_total}' -X POST -H 'Content-Type: application/json' \
+        -d "{\"numSimulations\": $ITERATIONS}" \
+        "http://localhost:$PORT/api/risk-analysis/projects/$PROJECT/simulate" | awk '{printf "%d", $1 * 1000}'
+}
+
+RUNS_FILE=$(mktemp)
+echo "| image | run | ready (ms) | first simulate (ms) | steady p50 (ms) | ttffr (ms) |" > "$RUNS_FILE"
+echo "|---|---|---|---|---|---|" >> "$RUNS_FILE"
+
+for image in runtime fast-start; do
+    for run in $(seq 1 "$RUNS"); do
+        start=$(now_ms)
+        docker run -d --name pra-bench-backend --network "$NETWORK" -p "$PORT:8080" \
+            -e SPRING_PROFILES_ACTIVE=docker -e HISTORY_ENABLED=false \
+            -e JIRA_URL=http://pra-bench-stub:8080 "pra-backend:$image" >/dev/null
+
+        until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/risk-analysis/health")" = "200" ]; do
+            sleep 0.05
+        done
+        ready=$(( $(now_ms) - start ))
+
+        latencies=()
+        ends=()
+        for i in $(seq 0 "$STEADY_REQUESTS"); do
+            latencies+=("$(simulate_ms)")
+            ends+=("$(( $(now_ms) - start ))")
+        done
+        first=${latencies[0]}
+        p50=$(printf '%s\n' "${latencies[@]:1}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+        ttffr=${ends[-1]}
+        for i in "${!latencies[@]}"; do
+            if [ $(( latencies[i] * 2 )) -le $(( p50 * 3 )) ]; then
+                ttffr=${ends[i]}
+                break
+            fi
+        done
+
+        echo "| $image | $run | $ready | $first | $p50 | $ttffr |" | tee -a "$RUNS_FILE"
+        docker rm -f pra-bench-backend >/dev/null
+    done
+done
+
+# 이미지별 열 중앙값
+summary=$(
+    echo "| image | ready (ms) | first simulate (ms) | steady p50 (ms) | ttffr (ms) |"
+    echo "|---|---|---|---|---|"
+    for image in runtime fast-start; do
+        row="| $image |"
+        for column in 4 5 6 7; do
+            median=$(awk -F'|' -v img=" $image " -v col="$column" '$2 == img {print $col + 0}' "$RUNS_FILE" \
+                | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+            row="$row $median |"
+        done
+        echo "$row"
+    done
+)
+environment="측정: $(date +%Y-%m-%d), ${RUNS}회 중앙값, $(nproc)코어, $(docker version --format '{{.Server.Os}}/{{.Server.Arch}} Docker {{.Server.Version}}'), 프로젝트 $PROJECT 1,000건, ${ITERATIONS}회 반복"
+
+{
+    echo "$summary"
+    echo
+    echo "$environment"
+    echo
+    cat "$RUNS_FILE"
+} > "$OUTPUT"
+rm -f "$RUNS_FILE"
+
+if [ "$UPDATE_README" = "1" ]; then
+    block=$(mktemp)
+    { echo "$summary"; echo; echo "$environment"; } > "$block"
+    awk -v block="$block" '
+        /<!-- startup-results:begin -->/ {print; while ((getline line < block) > 0) print line; skip = 1; next}
+        /<!-- startup-results:end -->/ {skip = 0}
+        !skip {print}
+    ' "$README" > "$README.tmp" && mv "$README.tmp" "$README"
+    rm -f "$block"
+    echo "README.md startup table updated"
+fi
+
+echo "Results written to $OUTPUT"
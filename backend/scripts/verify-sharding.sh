@@ -0,0 +1,86 @@
+#!/usr/bin/env bash
+# 분산 시뮬레이션(sharded: true)이 단일 노드 실행과 같은 결과를 내는지 확인하고 소요 시간을 비교한다.
+#
+# 로컬 프로세스로 합성 Jira(jira-stub), 피어 N개, 코디네이터 1개를 띄운 뒤 같은 시드로
+#   single      : 피어 1번에 sharded 요청 (피어 목록이 없으므로 모든 구간을 혼자 계산)
+#   coordinator : 코디네이터에 sharded 요청 (자신 + 피어 N개에 구간 분배)
+# 를 실행하고 두 응답 JSON이 같은지 비교한다.
+#
+# 사용법: backend/scripts/verify-sharding.sh [피어 수] [반복 횟수]
+set -euo pipefail
+
+PEERS=${1:-3}
+ITERATIONS=${2:-2000000}
+PROJECT=${PROJECT:-STUB}
+TASKS=${TASKS:-300}
+SEED=${SEED:-42}
+BASE_PORT=18180
+TOKEN=${SHARDING_TOKEN:-verify-sharding-$$}
+# 비교용 단일 노드 실행은 모든 구간을 코디네이터 몫으로 요청 한도에 청구하므로 기본 요청당 한도를 올림
+BUDGET=$((TASKS * ITERATIONS * 2))
+BACKEND_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+WORK_DIR="$(mktemp -d)"
+PIDS=()
+
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" >/dev/null 2>&1 || true
+    done
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+(cd "$BACKEND_DIR" && mvn -q -B -DskipTests package)
+JAR=$(ls "$BACKEND_DIR"/target/*.jar | grep -v original | head -1)
+
+start_backend() {
+    local port=$1; shift
+    env HISTORY_ENABLED=false JIRA_URL="http://localhost:$BASE_PORT" SHARDING_TOKEN="$TOKEN" \
+        ADMISSION_GLOBAL_COST_BUDGET="$BUDGET" ADMISSION_PER_ADDRESS_COST_BUDGET="$BUDGET" \
+        ADMISSION_PER_CLIENT_COST_BUDGET="$BUDGET" "$@" \
+        java -jar "$JAR" --server.port="$port" --logging.level.com.projectjam=INFO \
+        >"$WORK_DIR/backend-$port.log" 2>&1 &
+    PIDS+=("$!")
+}
+
+wait_ready() {
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$1/api/risk-analysis/health")" = "200" ]; do
+        sleep 0.5
+    done
+}
+
+simulate() {
+    curl -sf -X POST -H 'Content-Type: application/json' \
+        -d "{\"numSimulations\": $ITERATIONS, \"seed\": $SEED, \"sharded\": true}" \
+        -o "$2" -w '%{time_total}' "http://localhost:$1/api/risk-analysis/projects/$PROJECT/simulate"
+}
+
+start_backend "$BASE_PORT" SPRING_PROFILES_ACTIVE=jira-stub JIRA_STUB_PROJECTS="$PROJECT:$TASKS"
+peer_urls=()
+for i in $(seq 1 "$PEERS"); do
+    start_backend $((BASE_PORT + i))
+    peer_urls+=("http://localhost:$((BASE_PORT + i))")
+done
+COORDINATOR_PORT=$((BASE_PORT + PEERS + 1))
+start_backend "$COORDINATOR_PORT" SHARDING_PEERS="$(IFS=,; echo "${peer_urls[*]}")"
+
+for port in $(seq "$BASE_PORT" "$COORDINATOR_PORT"); do
+    wait_ready "$port"
+done
+
+# 첫 요청은 JIT 워밍업을 겸하므로 버리고 두 번째 요청을 측정
+simulate $((BASE_PORT + 1)) "$WORK_DIR/single.json" >/dev/null
+simulate "$COORDINATOR_PORT" "$WORK_DIR/coordinator.json" >/dev/null
+single=$(simulate $((BASE_PORT + 1)) "$WORK_DIR/single.json")
+coordinator=$(simulate "$COORDINATOR_PORT" "$WORK_DIR/coordinator.json")
+
+echo "tasks=$TASKS iterations=$ITERATIONS peers=$PEERS"
+echo "single node : ${single}s"
+echo "coordinator : ${coordinator}s ($(awk "BEGIN {printf \"%.2f\", $single / $coordinator}")x, $((PEERS + 1)) nodes)"
+if cmp -s "$WORK_DIR/single.json" "$WORK_DIR/coordinator.json"; then
+    echo "results     : identical"
+else
+    echo "results     : DIFFERENT"
+    diff <(tr ',' '\n' <"$WORK_DIR/single.json") <(tr ',' '\n' <"$WORK_DIR/coordinator.json") | head -20
+    exit 1
+fi
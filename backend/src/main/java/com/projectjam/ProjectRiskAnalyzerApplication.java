@@ -2,8 +2,10 @@ package com.projectjam;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProjectRiskAnalyzerApplication {
     public static void main(String[] args) {
         SpringApplication.run(ProjectRiskAnalyzerApplication.class, args);
@@ -0,0 +1,87 @@
+package com.projectjam.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.projectjam.service.JiraStubDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Jira REST API(/rest/api/2)의 search, project 엔드포인트를 흉내 내는 스텁 서버.
+ * jira-stub 프로파일에서만 활성화되며, 백엔드의 jira.url을 이 서버로 지정하면
+ * 네트워크 없이 fetch → simulate → serialize 전체 경로를 재현할 수 있다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/rest/api/2")
+@RequiredArgsConstructor
+@Profile("jira-stub")
+public class JiraStubController {
+    
+    private static final Pattern PROJECT_PATTERN = Pattern.compile("project\\s*=\\s*\"?([A-Za-z0-9_]+)\"?");
+    // status = X, status != X, statusCategory = Done 형태의 조건만 해석 (그 밖의 조건은 무시)
+    private static final Pattern STATUS_PATTERN = Pattern.compile("\\b(status|statusCategory)\\s*(!=|=)\\s*(\"[^\"]*\"|[A-Za-z]+)");
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private final JiraStubDataService jiraStubDataService;
+    
+    // 실제 Jira 응답 지연을 흉내 내기 위한 인위적 지연 (밀리초)
+    @Value("${jira.stub.latency-ms:0}")
+    private long latencyMs;
+    
+    @GetMapping("/search")
+    public ResponseEntity<JsonNode> search(
+            @RequestParam String jql,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int startAt,
+            @RequestParam(defaultValue = "50") int maxResults) {
+        
+        Matcher matcher = PROJECT_PATTERN.matcher(jql);
+        if (!matcher.find()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        simulateLatency();
+        int pageSize = Math.min(maxResults, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(jiraStubDataService.generateSearchPage(
+                matcher.group(1), parseStatusFilter(jql), JiraStubDataService.parseFields(fields), startAt, pageSize));
+    }
+    
+    static Predicate<String> parseStatusFilter(String jql) {
+        Predicate<String> filter = status -> true;
+        Matcher matcher = STATUS_PATTERN.matcher(jql);
+        while (matcher.find()) {
+            String value = matcher.group(3).replace("\"", "");
+            boolean negated = "!=".equals(matcher.group(2));
+            Predicate<String> condition = "statusCategory".equals(matcher.group(1))
+                    ? status -> JiraStubDataService.statusCategory(status).equalsIgnoreCase(value)
+                    : status -> status.equalsIgnoreCase(value);
+            filter = filter.and(negated ? condition.negate() : condition);
+        }
+        return filter;
+    }
+    
+    @GetMapping("/project")
+    public ResponseEntity<JsonNode> getProjects() {
+        simulateLatency();
+        return ResponseEntity.ok(jiraStubDataService.generateProjects());
+    }
+    
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
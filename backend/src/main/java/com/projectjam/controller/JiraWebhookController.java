@@ -0,0 +1,95 @@
+package com.projectjam.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectjam.service.JiraWebhookService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Jira 이슈 웹훅 수신 엔드포인트.
+ * X-Hub-Signature(sha256=HMAC) 헤더로 본문을 검증하며, jira.webhook.secret이 비어 있으면 엔드포인트를 끄고 404를 반환한다.
+ * 이벤트는 즉시 반영하지 않고 대기열에 넣은 뒤 202를 반환한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jira")
+@RequiredArgsConstructor
+public class JiraWebhookController {
+    
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    
+    private final JiraWebhookService jiraWebhookService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Value("${jira.webhook.secret:}")
+    private String secret;
+    
+    @PostConstruct
+    public void checkSecret() {
+        if (secret.isEmpty()) {
+            log.warn("**********************************************************************");
+            log.warn("jira.webhook.secret (JIRA_WEBHOOK_SECRET) is not set: POST /api/jira/webhook is DISABLED");
+            log.warn("The local task store is disabled too: tasks are read from Jira on every request");
+            log.warn("**********************************************************************");
+        }
+    }
+    
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receive(
+            @RequestBody String body,
+            @RequestHeader(value = "X-Hub-Signature", required = false) String signature) {
+        
+        // 서명 없는 웹훅은 누구나 태스크를 바꿀 수 있으므로 비밀값이 없으면 받지 않음
+        if (secret.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!verifySignature(body, signature)) {
+            log.warn("Rejected Jira webhook with invalid signature");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        try {
+            JsonNode payload = objectMapper.readTree(body);
+            if (!jiraWebhookService.accept(payload)) {
+                log.debug("Ignored Jira webhook event: {}", payload.path("webhookEvent").asText());
+            }
+            return ResponseEntity.accepted().build();
+        } catch (Exception e) {
+            log.warn("Malformed Jira webhook payload", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/webhook/stats")
+    public ResponseEntity<Map<String, Long>> getStatistics() {
+        return ResponseEntity.ok(jiraWebhookService.getStatistics());
+    }
+    
+    private boolean verifySignature(String body, String signature) {
+        if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+            byte[] actual = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
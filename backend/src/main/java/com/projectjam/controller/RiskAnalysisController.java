@@ -1,15 +1,43 @@
 package com.projectjam.controller;
 
+import com.projectjam.model.CalibrationSummary;
 import com.projectjam.model.JiraTask;
 import com.projectjam.model.ProjectInfo;
+import com.projectjam.model.RunQueryResult;
 import com.projectjam.model.SimulationResult;
+import com.projectjam.model.SimulationSnapshot;
+import com.projectjam.model.SimulationTrend;
+import com.projectjam.model.TaskGrouping;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.AdmissionRejectedException;
+import com.projectjam.service.DurationCalibrationService;
+import com.projectjam.service.DurationModelRegistry;
 import com.projectjam.service.JiraService;
+import com.projectjam.service.JiraTaskStore;
 import com.projectjam.service.MonteCarloService;
+import com.projectjam.service.PrecomputeService;
+import com.projectjam.service.RetainedRun;
+import com.projectjam.service.RetainedRunService;
+import com.projectjam.service.SampleStorageService;
+import com.projectjam.service.ShardCoordinatorService;
+import com.projectjam.service.SimulationAdmissionService;
+import com.projectjam.service.SimulationHistoryService;
+import com.projectjam.service.duration.DurationModel;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,7 +49,17 @@ import java.util.Map;
 public class RiskAnalysisController {
     
     private final JiraService jiraService;
+    private final JiraTaskStore jiraTaskStore;
     private final MonteCarloService monteCarloService;
+    private final SimulationHistoryService simulationHistoryService;
+    private final DurationCalibrationService durationCalibrationService;
+    private final DurationModelRegistry durationModelRegistry;
+    private final SimulationAdmissionService simulationAdmissionService;
+    private final SampleStorageService sampleStorageService;
+    private final RetainedRunService retainedRunService;
+    private final ShardCoordinatorService shardCoordinatorService;
+    private final PrecomputeService precomputeService;
+    private final ApplicationAvailability applicationAvailability;
     
     @GetMapping("/projects/search")
     public ResponseEntity<List<ProjectInfo>> searchProjects(@RequestParam String query) {
@@ -48,7 +86,7 @@ public class RiskAnalysisController {
     @GetMapping("/projects/{projectKey}/tasks")
     public ResponseEntity<List<JiraTask>> getProjectTasks(@PathVariable String projectKey) {
         try {
-            List<JiraTask> tasks = jiraService.getProjectTasks(projectKey);
+            List<JiraTask> tasks = jiraTaskStore.getTasks(projectKey);
             return ResponseEntity.ok(tasks);
         } catch (Exception e) {
             log.error("Error fetching tasks for project: {}", projectKey, e);
@@ -70,37 +108,333 @@ public class RiskAnalysisController {
     @PostMapping("/projects/{projectKey}/simulate")
     public ResponseEntity<SimulationResult> runSimulation(
             @PathVariable String projectKey,
-            @RequestBody(required = false) Map<String, Object> request) {
+            @RequestBody(required = false) Map<String, Object> request,
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+            HttpServletRequest servletRequest) {
         
         try {
             // 시뮬레이션 횟수 설정 (기본값: 10000)
             int numSimulations = 10000;
             if (request != null && request.containsKey("numSimulations")) {
-                numSimulations = (Integer) request.get("numSimulations");
+                Object value = request.get("numSimulations");
+                if (value instanceof Number) {
+                    numSimulations = ((Number) value).intValue();
+                } else if (value instanceof String) {
+                    numSimulations = Integer.parseInt((String) value);
+                } else {
+                    return ResponseEntity.badRequest().build();
+                }
             }
             
-            // 프로젝트 태스크 가져오기
-            List<JiraTask> tasks = jiraService.getProjectTasks(projectKey);
+            // 저장 방식 (heap: 기본, mapped: 샘플 행렬 전체를 메모리 매핑 파일에 저장)
+            boolean mapped = request != null && "mapped".equals(request.get("storage"));
+            // retain: 샘플 컬럼을 메모리에 보관해 이후 /runs/{runId}/refresh로 바뀐 태스크만 재계산
+            boolean retain = request != null && Boolean.TRUE.equals(request.get("retain"));
+            // sharded: 반복 구간을 simulation.sharding.peers의 백엔드들에 나눠 실행하고 결과를 병합
+            boolean sharded = request != null && Boolean.TRUE.equals(request.get("sharded"));
+            // groupBy: 같은 샘플로 담당자/에픽/스프린트/릴리스별 합계 분포를 함께 집계 (힙 실행에서만 지원)
+            List<TaskGrouping> groupings = new ArrayList<>();
+            if (request != null && request.get("groupBy") != null) {
+                if (!(request.get("groupBy") instanceof List)) {
+                    return ResponseEntity.badRequest().build();
+                }
+                for (Object name : (List<?>) request.get("groupBy")) {
+                    TaskGrouping grouping = TaskGrouping.fromName(String.valueOf(name));
+                    if (!groupings.contains(grouping)) {
+                        groupings.add(grouping);
+                    }
+                }
+            }
+            if ((mapped && retain) || (sharded && (mapped || retain))
+                    || (!groupings.isEmpty() && (mapped || retain || sharded))) {
+                return ResponseEntity.badRequest().build();
+            }
+            int maxIterations = mapped ? sampleStorageService.getMaxIterations()
+                    : sharded ? shardCoordinatorService.getMaxIterations()
+                    : simulationAdmissionService.getMaxIterations();
+            if (numSimulations <= 0 || numSimulations > maxIterations) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // 시드를 지정하면 같은 태스크 구성에서 같은 샘플을 재현
+            long seed = MonteCarloService.newSeed();
+            if (request != null && request.get("seed") != null) {
+                Object value = request.get("seed");
+                if (value instanceof Number) {
+                    seed = ((Number) value).longValue();
+                } else if (value instanceof String) {
+                    seed = Long.parseLong((String) value);
+                } else {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+            
+            // 소요시간 모델 선택 (triangular, pert, lognormal, empirical). durationModels로 이슈 유형별 모델 지정
+            String modelSpec = null;
+            if (request != null) {
+                Object model = request.get("durationModel");
+                Object modelsByIssueType = request.get("durationModels");
+                if ((model != null && !(model instanceof String))
+                        || (modelsByIssueType != null && !(modelsByIssueType instanceof Map))) {
+                    return ResponseEntity.badRequest().build();
+                }
+                if (modelsByIssueType != null) {
+                    Map<String, String> byIssueType = new LinkedHashMap<>();
+                    ((Map<?, ?>) modelsByIssueType).forEach((issueType, name) ->
+                            byIssueType.put(String.valueOf(issueType), String.valueOf(name)));
+                    modelSpec = durationModelRegistry.spec((String) model, byIssueType);
+                } else {
+                    modelSpec = (String) model;
+                }
+            }
+            
+            // 기본 요청(시드/저장 방식/모델 지정 없음)은 빈도를 기록하고, 백그라운드에서 미리 계산된 결과가 있으면 바로 반환
+            boolean precomputable = !mapped && !retain && !sharded && modelSpec == null && groupings.isEmpty()
+                    && (request == null || request.get("seed") == null);
+            long taskVersion = jiraTaskStore.getVersion(projectKey);
+            if (precomputable) {
+                precomputeService.recordRequest(projectKey, numSimulations);
+                SimulationResult cached = precomputeService.getCached(projectKey, numSimulations);
+                if (cached != null) {
+                    return ResponseEntity.ok().header(PrecomputeService.CACHE_HEADER, "HIT").body(cached);
+                }
+            }
             
-            if (tasks.isEmpty()) {
+            // 프로젝트 태스크를 시뮬레이션용 컬럼형 테이블로 가져오기 (웹훅으로 갱신되는 로컬 저장소 우선)
+            TaskTable tasks = jiraTaskStore.getTaskTable(projectKey);
+            
+            if (tasks.size() == 0) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Monte Carlo 시뮬레이션 실행
-            SimulationResult result = monteCarloService.runSimulation(tasks, numSimulations);
+            DurationModel durationModel = durationModelRegistry.create(projectKey, modelSpec);
             
-
+            // 예상 비용(태스크 수 × 반복 횟수)으로 수용 여부 결정 후 Monte Carlo 시뮬레이션 실행
+            // mapped 실행은 샘플을 디스크에 기록하므로 요청당 비용 한도 대신 저장 실행 전용 동시 실행 수와 디스크 여유 공간으로 제한
+            // sharded 실행은 코디네이터 자신의 구간만 청구 (피어 구간은 각 피어의 샤드 예산으로 수용)
+            // 힙 실행은 표준편차 상위 태스크끼리 상관관계를 계산하고, 그룹 집계는 그룹마다 반복 합계 배열을 하나씩 더 둠
+            long cost = mapped ? SimulationAdmissionService.estimateCost(tasks.size(), numSimulations)
+                    : sharded ? shardCoordinatorService.estimateLocalCost(tasks.size(), numSimulations)
+                    : SimulationAdmissionService.estimateCostWithCorrelations(tasks.size(),
+                            monteCarloService.correlatedTaskCount(tasks.size()), numSimulations)
+                            + SimulationAdmissionService.estimateCost(MonteCarloService.groupRollupCount(tasks, groupings), numSimulations);
+            SimulationResult result;
+            try (SimulationAdmissionService.Permit permit = mapped
+                    ? simulationAdmissionService.acquireStorage(cost)
+                    : simulationAdmissionService.acquire(servletRequest.getRemoteAddr(), clientId, cost)) {
+                if (mapped) {
+                    result = sampleStorageService.runAndStore(projectKey, tasks, numSimulations, durationModel, seed);
+                } else if (sharded) {
+                    result = shardCoordinatorService.simulate(projectKey, tasks, numSimulations, modelSpec, seed);
+                } else if (retain) {
+                    result = retainedRunService.simulate(projectKey, tasks, numSimulations, durationModel, seed);
+                } else {
+                    result = monteCarloService.runSimulation(tasks, numSimulations, durationModel, seed, groupings);
+                }
+            }
             
+            // 추세 비교를 위해 요약 결과를 히스토리에 기록
+            simulationHistoryService.record(projectKey, result);
+            
+            if (precomputable) {
+                precomputeService.store(projectKey, numSimulations, taskVersion, result);
+                return ResponseEntity.ok().header(PrecomputeService.CACHE_HEADER, "MISS").body(result);
+            }
             return ResponseEntity.ok(result);
             
+        } catch (AdmissionRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected simulation request for project {}: {}", projectKey, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error running simulation for project: {}", projectKey, e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    @PostMapping("/runs/{runId}/refresh")
+    public ResponseEntity<SimulationResult> refreshRetainedRun(
+            @PathVariable String runId,
+            @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+            HttpServletRequest servletRequest) {
+        
+        try {
+            RetainedRun run = retainedRunService.get(runId);
+            if (run == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            TaskTable tasks = jiraTaskStore.getTaskTable(run.getProjectKey());
+            // 실행에 기록된 모델 이름으로 같은 모델을 다시 구성 (경험적 모델은 최신 보정 반영)
+            DurationModel durationModel = durationModelRegistry.create(run.getProjectKey(), run.getDurationModel());
+            
+            // 다시 샘플링할 컬럼 수 k를 미리 세어 k × 반복 횟수와 상관관계 대상 재계산을 비용으로 계산
+            int changed = monteCarloService.countChangedColumns(run, tasks, durationModel);
+            long cost = SimulationAdmissionService.estimateRefreshCost(changed,
+                    monteCarloService.correlatedTaskCount(tasks.size()), run.getIterations());
+            SimulationResult result;
+            try (SimulationAdmissionService.Permit permit =
+                         simulationAdmissionService.acquire(servletRequest.getRemoteAddr(), clientId, cost)) {
+                result = retainedRunService.refresh(runId, tasks, durationModel);
+            }
+            if (result == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            simulationHistoryService.record(run.getProjectKey(), result);
+            return ResponseEntity.ok(result);
+            
+        } catch (AdmissionRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected refresh of retained run {}: {}", runId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error refreshing retained run: {}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/runs/{runId}/summary")
+    public ResponseEntity<SimulationResult> getRunSummary(@PathVariable String runId) {
+        try {
+            // 메모리에 보관 중인 실행을 먼저 찾고, 없으면 파일로 저장된 실행에서 재계산
+            RetainedRun run = retainedRunService.get(runId);
+            SimulationResult result = run != null ? run.getLastResult() : sampleStorageService.summarize(runId);
+            return result != null ? ResponseEntity.ok(result) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error summarizing simulation run: {}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/runs/{runId}/quantiles")
+    public ResponseEntity<RunQueryResult> getRunQuantiles(
+            @PathVariable String runId,
+            @RequestParam("p") List<Double> probabilities,
+            @RequestParam(required = false) String task) {
+        try {
+            RunQueryResult result = retainedRunService.queryQuantiles(runId, task, probabilities);
+            return result != null ? ResponseEntity.ok(result) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error querying quantiles for run: {}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/runs/{runId}/cdf")
+    public ResponseEntity<RunQueryResult> getRunCdf(
+            @PathVariable String runId,
+            @RequestParam(required = false) List<Double> hours,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> date,
+            @RequestParam(required = false) String task) {
+        try {
+            // 날짜는 오늘부터 해당 날짜까지의 작업 시간으로 변환
+            List<Double> targets = new ArrayList<>();
+            if (hours != null) {
+                targets.addAll(hours);
+            }
+            if (date != null) {
+                date.forEach(d -> targets.add(RetainedRunService.workingHoursUntil(d)));
+            }
+            if (targets.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            RunQueryResult result = retainedRunService.queryCdf(runId, task, targets);
+            return result != null ? ResponseEntity.ok(result) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error querying CDF for run: {}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @DeleteMapping("/runs/{runId}")
+    public ResponseEntity<Void> deleteRun(@PathVariable String runId) {
+        try {
+            boolean deleted = retainedRunService.remove(runId) || sampleStorageService.delete(runId);
+            return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error deleting simulation run: {}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/projects/{projectKey}/calibration")
+    public ResponseEntity<CalibrationSummary> getCalibration(@PathVariable String projectKey) {
+        try {
+            CalibrationSummary summary = durationCalibrationService.getSummary(projectKey);
+            if (summary == null) {
+                // 첫 보정을 백그라운드에서 가져오는 중이거나 실패해 재시도 대기 중
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build();
+            }
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            log.error("Error calibrating duration model for project: {}", projectKey, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/projects/{projectKey}/history")
+    public ResponseEntity<List<SimulationSnapshot>> getSimulationHistory(
+            @PathVariable String projectKey,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(simulationHistoryService.getSnapshots(projectKey, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching simulation history for project: {}", projectKey, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/projects/{projectKey}/history/trend")
+    public ResponseEntity<SimulationTrend> getSimulationTrend(
+            @PathVariable String projectKey,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String durationModel,
+            @RequestParam(required = false) Integer numSimulations) {
+        try {
+            // 모델/반복 횟수를 지정하지 않으면 기간 내 마지막 기록과 같은 실행끼리 비교
+            return ResponseEntity.ok(simulationHistoryService.getTrend(projectKey, from, to, durationModel, numSimulations));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching simulation trend for project: {}", projectKey, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @GetMapping("/precompute/stats")
+    public ResponseEntity<Map<String, Long>> getPrecomputeStatistics() {
+        return ResponseEntity.ok(precomputeService.getStatistics());
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
+        // 기동 워밍업이 끝나기 전(readiness 미수락)에는 503으로 트래픽 유입을 막음
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("status", "WARMING_UP", "service", "Project Risk Analyzer"));
+        }
         return ResponseEntity.ok(Map.of("status", "UP", "service", "Project Risk Analyzer"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.projectjam.controller;
+
+import com.projectjam.model.ShardPartial;
+import com.projectjam.model.ShardRankQuery;
+import com.projectjam.model.ShardRequest;
+import com.projectjam.service.AdmissionRejectedException;
+import com.projectjam.service.ShardCoordinatorService;
+import com.projectjam.service.ShardService;
+import com.projectjam.service.SimulationAdmissionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * 분산 시뮬레이션의 피어 엔드포인트. 코디네이터가 호출하며 사용자 요청용이 아니다.
+ * X-Shard-Token 헤더가 simulation.sharding.token과 일치해야 하며, 토큰이 설정되지 않은 노드에서는 엔드포인트가 비활성화(404)된다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/risk-analysis/shards")
+@RequiredArgsConstructor
+public class ShardController {
+    
+    private final ShardService shardService;
+    private final SimulationAdmissionService simulationAdmissionService;
+    
+    @Value("${simulation.sharding.token:}")
+    private String token;
+    
+    @PostConstruct
+    public void checkToken() {
+        if (token.isEmpty()) {
+            log.info("simulation.sharding.token is not set: shard peer endpoints are disabled on this node");
+        }
+    }
+    
+    @PostMapping
+    public ResponseEntity<ShardPartial> execute(
+            @RequestBody ShardRequest request,
+            @RequestHeader(value = ShardCoordinatorService.TOKEN_HEADER, required = false) String shardToken) {
+        
+        ResponseEntity<ShardPartial> denied = deny(shardToken);
+        if (denied != null) {
+            return denied;
+        }
+        
+        try {
+            // 구간 전체 샘플 수를 사용자 요청 한도가 아닌 샤드 예산에 청구 (예산보다 큰 구간은 400, 예산이 차 있으면 503)
+            long cost = ShardCoordinatorService.estimateShardCost(request);
+            try (SimulationAdmissionService.Permit permit = simulationAdmissionService.acquireShard(cost)) {
+                return ResponseEntity.ok(shardService.execute(request));
+            }
+        } catch (AdmissionRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected shard request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error running shard", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @PostMapping("/{shardId}/histogram")
+    public ResponseEntity<long[]> histogram(
+            @PathVariable String shardId,
+            @RequestBody ShardRankQuery query,
+            @RequestHeader(value = ShardCoordinatorService.TOKEN_HEADER, required = false) String shardToken) {
+        
+        ResponseEntity<long[]> denied = deny(shardToken);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            long[] histogram = shardService.histogram(shardId, query.getMin(), query.getMax());
+            return histogram != null ? ResponseEntity.ok(histogram) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/{shardId}/values")
+    public ResponseEntity<Map<Integer, double[]>> values(
+            @PathVariable String shardId,
+            @RequestBody ShardRankQuery query,
+            @RequestHeader(value = ShardCoordinatorService.TOKEN_HEADER, required = false) String shardToken) {
+        
+        ResponseEntity<Map<Integer, double[]>> denied = deny(shardToken);
+        if (denied != null) {
+            return denied;
+        }
+        if (query.getBins() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Map<Integer, double[]> values = shardService.values(shardId, query.getMin(), query.getMax(), query.getBins());
+            return values != null ? ResponseEntity.ok(values) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{shardId}")
+    public ResponseEntity<Void> release(
+            @PathVariable String shardId,
+            @RequestHeader(value = ShardCoordinatorService.TOKEN_HEADER, required = false) String shardToken) {
+        
+        ResponseEntity<Void> denied = deny(shardToken);
+        if (denied != null) {
+            return denied;
+        }
+        return shardService.release(shardId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * 토큰이 없는 노드는 404, 토큰이 맞지 않으면 401. 통과하면 null.
+     */
+    private <T> ResponseEntity<T> deny(String shardToken) {
+        if (token.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean authorized = shardToken != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), shardToken.getBytes(StandardCharsets.UTF_8));
+        return authorized ? null : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+}
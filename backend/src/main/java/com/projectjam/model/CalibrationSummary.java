@@ -0,0 +1,32 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalibrationSummary {
+    private String projectKey;
+    private LocalDateTime refreshedAt;
+    private int observationCount; // 보정에 사용된 완료 이슈 수
+    private List<SegmentSummary> segments;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SegmentSummary {
+        private String segment; // 이슈유형|우선순위|담당자 (* 는 전체)
+        private int sampleCount;
+        private double p10Ratio; // 실적/추정 비율 10% 분위수
+        private double p50Ratio;
+        private double p90Ratio;
+    }
+}
@@ -0,0 +1,24 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 한 그룹(담당자, 에픽, 스프린트, 릴리스)에 속한 태스크 소요시간 합계의 분포 요약.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupRollup {
+    private String group; // 그룹 이름 (값이 없는 태스크의 그룹은 null)
+    private int taskCount;
+    private double estimatedDuration; // 태스크 기준 소요시간 합계 (시간)
+    private double p50Duration;
+    private double p80Duration;
+    private double p90Duration;
+    private double meanDuration;
+    private double onTimeProbability; // 합계가 estimatedDuration 이내일 확률
+}
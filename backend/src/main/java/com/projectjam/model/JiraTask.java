@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -26,7 +27,8 @@ public class JiraTask {
     private Integer timeSpent; // seconds
     private Integer remainingEstimate; // seconds
     private String epicLink;
-    private String sprint;
+    private String sprint; // 여러 스프린트를 거친 이슈는 마지막(현재) 스프린트
+    private List<String> fixVersions; // 릴리스 이름 (여러 개일 수 있음)
     private String issueType;
     
     // 커스텀 필드들
@@ -0,0 +1,35 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 보관 실행에 대한 분위수/누적확률 조회 결과.
+ * taskKey가 없으면 프로젝트 총 기간 분포에 대한 조회이다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunQueryResult {
+    private String runId;
+    private String projectKey;
+    private String taskKey;
+    private int sampleCount;
+    private boolean stale; // 실행 이후 태스크가 바뀌었으면 true (refresh 필요)
+    private List<Point> points;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private double probability; // 누적확률 (0-1)
+        private double hours; // 소요시간 (시간)
+        private double days; // 소요시간 (8시간 = 1일)
+    }
+}
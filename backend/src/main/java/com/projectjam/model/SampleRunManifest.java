@@ -0,0 +1,36 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 디스크에 저장된 샘플 행렬(off-heap 실행)의 메타데이터.
+ * 태스크 컬럼은 TaskTable을 다시 구성할 수 있도록 원본 값 그대로 보관한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SampleRunManifest {
+    private String runId;
+    private String projectKey;
+    private LocalDateTime createdAt;
+    private long seed;
+    private int iterations;
+    private int blockSize;
+    private String durationModel;
+    private List<String> taskKeys;
+    private List<String> statuses;
+    private List<String> priorities;
+    private List<String> issueTypes;
+    private List<String> assignees;
+    private long[] startEpochSeconds;
+    private long[] endEpochSeconds;
+    private int[] originalEstimateSeconds;
+    private int[] timeSpentSeconds;
+}
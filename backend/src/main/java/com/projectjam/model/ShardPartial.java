@@ -0,0 +1,30 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 반복 구간 하나의 부분 통계. 청크(SHARD_CHUNK_ITERATIONS 반복)별 평균과 편차 제곱합을 담아
+ * 코디네이터가 노드 수와 무관하게 같은 순서로 병합한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardPartial {
+    private String shardId; // 백분위수 계산이 끝날 때까지 피어가 총합을 보관하는 세션
+    private int fromIteration;
+    private int iterationCount;
+    private double[][] taskMeans; // [청크][태스크]
+    private double[][] taskSquaredDeviations; // [청크][태스크], 청크 평균 기준 편차 제곱합
+    private int[][] taskOnTimeCounts; // [청크][태스크]
+    private double[] totalMeans; // [청크], 반복별 프로젝트 총 기간
+    private double[] totalSquaredDeviations;
+    private double minTotal;
+    private double maxTotal;
+    private List<Double> distribution; // 전체 반복 기준 균등 간격 추출 값
+}
@@ -0,0 +1,21 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 분산 백분위수 계산 요청. 전체 최소/최대로 구간을 나누고, bins가 있으면 해당 구간의 값을 요청한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardRankQuery {
+    private double min;
+    private double max;
+    private List<Integer> bins;
+}
@@ -0,0 +1,23 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 분산 시뮬레이션에서 코디네이터가 피어에 보내는 반복 구간 작업.
+ * 태스크 구성, 시드, 전체 반복 횟수, 모델 지정은 저장 실행과 같은 매니페스트 형식으로 보낸다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardRequest {
+    private SampleRunManifest run;
+    private int fromIteration; // SHARD_CHUNK_ITERATIONS의 배수
+    private int iterationCount;
+    private Map<String, double[]> calibration; // empirical 모델일 때 코디네이터의 분위수 테이블 (피어마다 보정이 달라지지 않도록)
+}
@@ -15,6 +15,9 @@ import java.util.Map;
 public class SimulationResult {
     private String projectKey;
     private int totalSimulations;
+    private Long seed; // 같은 시드와 태스크면 같은 샘플을 재현
+    private String runId; // 샘플을 파일로 저장한 실행(storage: mapped)의 식별자
+    private String durationModel; // 샘플링에 사용한 소요시간 모델 (예: "pert;Bug=lognormal")
     private double p50Duration; // 50% 확률 달성 기간
     private double p80Duration; // 80% 확률 달성 기간
     private double p90Duration; // 90% 확률 달성 기간
@@ -27,6 +30,8 @@ public class SimulationResult {
     private Map<String, TaskAnalysis> taskAnalyses; // 태스크별 상세 분석
     private List<Double> durationDistribution;
     private Map<String, Map<String, Double>> taskCorrelations; // 태스크별 상관관계
+    private Map<String, List<GroupRollup>> groupRollups; // groupBy 요청 시 집계 기준(assignee 등) → 그룹별 요약
+    private List<String> shardFallbacks; // sharded 실행에서 피어 실패로 코디네이터가 다시 계산한 구간 ("시작+반복 횟수@피어")
     private RiskAnalysis riskAnalysis;
     private String overallAssessment;
     
@@ -0,0 +1,41 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationSnapshot {
+    private String projectKey;
+    private LocalDateTime recordedAt;
+    private int totalSimulations;
+    private String durationModel; // 샘플링에 사용한 소요시간 모델
+    private int taskCount;
+    private double p50Duration;
+    private double p80Duration;
+    private double p90Duration;
+    private double meanDuration;
+    private double standardDeviation;
+    private double minDuration;
+    private double maxDuration;
+    private double[] quantiles; // 5% 간격 분위수 스케치 (q0, q5, ..., q100)
+    private List<TaskSnapshot> taskStats; // 태스크별 요약 통계
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskSnapshot {
+        private String taskKey;
+        private double meanDuration; // 평균 소요시간 (시간)
+        private double variability; // 변동성 (표준편차/평균)
+        private double completionProbability; // 완료 확률 (0-1)
+    }
+}
@@ -0,0 +1,38 @@
+package com.projectjam.model;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationTrend {
+    private String projectKey;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String durationModel; // 추세에 포함한 기록의 소요시간 모델
+    private Integer totalSimulations; // 추세에 포함한 기록의 반복 횟수 (기록이 없으면 null)
+    private List<TrendPoint> points;
+    private double p80Change; // 구간 처음 대비 마지막 P80 변화량 (시간)
+    private double p80WeeklySlope; // 최소제곱 기준 주당 P80 변화량 (시간/주)
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrendPoint {
+        private LocalDateTime recordedAt;
+        private double p50Duration;
+        private double p80Duration;
+        private double p90Duration;
+        private double meanDuration;
+        private double standardDeviation;
+        private int taskCount;
+    }
+}
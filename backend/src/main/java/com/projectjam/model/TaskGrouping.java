@@ -0,0 +1,30 @@
+package com.projectjam.model;
+
+/**
+ * 시뮬레이션 결과를 그룹별로 집계할 때 사용하는 태스크 속성.
+ */
+public enum TaskGrouping {
+    ASSIGNEE("assignee"),
+    EPIC("epic"),
+    SPRINT("sprint"),
+    FIX_VERSION("fixVersion");
+    
+    private final String name;
+    
+    TaskGrouping(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public static TaskGrouping fromName(String name) {
+        for (TaskGrouping grouping : values()) {
+            if (grouping.name.equals(name)) {
+                return grouping;
+            }
+        }
+        throw new IllegalArgumentException("Unknown grouping: " + name);
+    }
+}
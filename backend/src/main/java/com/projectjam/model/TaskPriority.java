@@ -0,0 +1,34 @@
+package com.projectjam.model;
+
+/**
+ * Jira 우선순위 이름을 시뮬레이션에서 쓰는 고정 코드로 정규화한 값.
+ */
+public enum TaskPriority {
+    HIGHEST("Highest"),
+    HIGH("High"),
+    MEDIUM("Medium"),
+    LOW("Low"),
+    LOWEST("Lowest"),
+    UNKNOWN(null);
+    
+    private final String jiraName;
+    
+    TaskPriority(String jiraName) {
+        this.jiraName = jiraName;
+    }
+    
+    public String getJiraName() {
+        return jiraName;
+    }
+    
+    public static TaskPriority fromJira(String name) {
+        if (name != null) {
+            for (TaskPriority priority : values()) {
+                if (name.equals(priority.jiraName)) {
+                    return priority;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+}
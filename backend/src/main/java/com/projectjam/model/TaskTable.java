@@ -0,0 +1,388 @@
+package com.projectjam.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시뮬레이션용으로 정규화한 컬럼형 태스크 테이블.
+ *
+ * 상태/우선순위/이슈 유형/담당자/에픽/스프린트/릴리스는 테이블 단위 사전(dictionary)의 코드로,
+ * 시작일/종료일과 추정치는 원시 타입 배열로 보관한다. 행 순서는 Jira 조회 순서와 같다.
+ * 릴리스(fixVersions)는 이슈당 여러 개일 수 있으므로 행별 시작 위치(offsets)와 코드 배열로 보관한다.
+ */
+public final class TaskTable {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+    public static final int NO_VALUE = -1;
+    public static final double DEFAULT_DURATION_HOURS = 8.0;
+
+    private static final int[] NO_GROUPS = new int[0];
+
+    private static final String[] CUSTOM_DATE_PATTERNS = {
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZ",
+        "yyyy-MM-dd'T'HH:mm:ssZ",
+        "yyyy-MM-dd'T'HH:mm:ss",
+        "yyyy-MM-dd HH:mm:ss",
+        "yyyy-MM-dd"
+    };
+
+    private final int size;
+    private final String[] keys;
+    private final short[] statusCodes;
+    private final short[] priorityCodes;
+    private final short[] issueTypeCodes;
+    private final int[] assigneeIds; // 미할당은 NO_VALUE
+    private final int[] epicIds; // 없으면 NO_VALUE
+    private final int[] sprintIds;
+    private final int[] fixVersionOffsets; // 행 i의 릴리스 코드는 fixVersionIds[offsets[i], offsets[i + 1])
+    private final int[] fixVersionIds;
+    private final long[] startEpochSeconds; // 없으면 NO_DATE
+    private final long[] endEpochSeconds;
+    private final int[] originalEstimateSeconds; // 없으면 NO_VALUE
+    private final int[] timeSpentSeconds;
+    private final String[] descriptions; // includeDescription일 때만 채워짐
+
+    private final String[] statusNames;
+    private final String[] priorityNames;
+    private final TaskPriority[] priorityLevels;
+    private final String[] issueTypeNames;
+    private final String[] assigneeNames;
+    private final String[] epicNames;
+    private final String[] sprintNames;
+    private final String[] fixVersionNames;
+
+    private TaskTable(Builder builder) {
+        this.size = builder.size;
+        this.keys = Arrays.copyOf(builder.keys, size);
+        this.statusCodes = Arrays.copyOf(builder.statusCodes, size);
+        this.priorityCodes = Arrays.copyOf(builder.priorityCodes, size);
+        this.issueTypeCodes = Arrays.copyOf(builder.issueTypeCodes, size);
+        this.assigneeIds = Arrays.copyOf(builder.assigneeIds, size);
+        this.epicIds = Arrays.copyOf(builder.epicIds, size);
+        this.sprintIds = Arrays.copyOf(builder.sprintIds, size);
+        this.fixVersionOffsets = Arrays.copyOf(builder.fixVersionOffsets, size + 1);
+        this.fixVersionIds = Arrays.copyOf(builder.fixVersionIds, builder.fixVersionOffsets[size]);
+        this.startEpochSeconds = Arrays.copyOf(builder.startEpochSeconds, size);
+        this.endEpochSeconds = Arrays.copyOf(builder.endEpochSeconds, size);
+        this.originalEstimateSeconds = Arrays.copyOf(builder.originalEstimateSeconds, size);
+        this.timeSpentSeconds = Arrays.copyOf(builder.timeSpentSeconds, size);
+        this.descriptions = builder.includeDescription ? Arrays.copyOf(builder.descriptions, size) : null;
+
+        this.statusNames = builder.statuses.toArray();
+        this.priorityNames = builder.priorities.toArray();
+        this.issueTypeNames = builder.issueTypes.toArray();
+        this.assigneeNames = builder.assignees.toArray();
+        this.epicNames = builder.epics.toArray();
+        this.sprintNames = builder.sprints.toArray();
+        this.fixVersionNames = builder.fixVersions.toArray();
+
+        this.priorityLevels = new TaskPriority[priorityNames.length];
+        for (int i = 0; i < priorityNames.length; i++) {
+            priorityLevels[i] = TaskPriority.fromJira(priorityNames[i]);
+        }
+    }
+
+    public static Builder builder(boolean includeDescription) {
+        return new Builder(includeDescription);
+    }
+
+    public static TaskTable from(List<JiraTask> tasks) {
+        Builder builder = new Builder(false);
+        for (JiraTask task : tasks) {
+            builder.add(task.getKey(), task.getStatus(), task.getPriority(), task.getIssueType(), task.getAssignee(),
+                    parseCustomDateTime(task.getCf10332()), parseCustomDateTime(task.getCf10333()),
+                    task.getOriginalEstimate(), task.getTimeSpent(), null,
+                    task.getEpicLink(), task.getSprint(), task.getFixVersions());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getKey(int row) {
+        return keys[row];
+    }
+
+    public String getStatus(int row) {
+        return statusNames[statusCodes[row]];
+    }
+
+    public String getPriority(int row) {
+        return priorityNames[priorityCodes[row]];
+    }
+
+    public TaskPriority getPriorityLevel(int row) {
+        return priorityLevels[priorityCodes[row]];
+    }
+
+    public String getIssueType(int row) {
+        return issueTypeNames[issueTypeCodes[row]];
+    }
+
+    public int getAssigneeId(int row) {
+        return assigneeIds[row];
+    }
+
+    public String getAssignee(int row) {
+        return assigneeIds[row] == NO_VALUE ? null : assigneeNames[assigneeIds[row]];
+    }
+
+    public String getEpic(int row) {
+        return epicIds[row] == NO_VALUE ? null : epicNames[epicIds[row]];
+    }
+
+    public String getSprint(int row) {
+        return sprintIds[row] == NO_VALUE ? null : sprintNames[sprintIds[row]];
+    }
+
+    public List<String> getFixVersions(int row) {
+        List<String> names = new ArrayList<>(fixVersionOffsets[row + 1] - fixVersionOffsets[row]);
+        for (int i = fixVersionOffsets[row]; i < fixVersionOffsets[row + 1]; i++) {
+            names.add(fixVersionNames[fixVersionIds[i]]);
+        }
+        return names;
+    }
+
+    /**
+     * 집계 기준별 그룹 코드 수. 코드는 0부터 groupCount - 1까지이다.
+     */
+    public int groupCount(TaskGrouping grouping) {
+        return groupNames(grouping).length;
+    }
+
+    public String groupName(TaskGrouping grouping, int code) {
+        return groupNames(grouping)[code];
+    }
+
+    /**
+     * 행이 속한 그룹 코드. 값이 없으면 빈 배열이며, 릴리스만 여러 개일 수 있다.
+     */
+    public int[] groupCodes(TaskGrouping grouping, int row) {
+        switch (grouping) {
+            case ASSIGNEE:
+                return singleGroup(assigneeIds[row]);
+            case EPIC:
+                return singleGroup(epicIds[row]);
+            case SPRINT:
+                return singleGroup(sprintIds[row]);
+            case FIX_VERSION:
+                return fixVersionOffsets[row] == fixVersionOffsets[row + 1]
+                        ? NO_GROUPS : Arrays.copyOfRange(fixVersionIds, fixVersionOffsets[row], fixVersionOffsets[row + 1]);
+            default:
+                throw new IllegalArgumentException("Unknown grouping: " + grouping);
+        }
+    }
+
+    private String[] groupNames(TaskGrouping grouping) {
+        switch (grouping) {
+            case ASSIGNEE:
+                return assigneeNames;
+            case EPIC:
+                return epicNames;
+            case SPRINT:
+                return sprintNames;
+            case FIX_VERSION:
+                return fixVersionNames;
+            default:
+                throw new IllegalArgumentException("Unknown grouping: " + grouping);
+        }
+    }
+
+    private static int[] singleGroup(int code) {
+        return code == NO_VALUE ? NO_GROUPS : new int[]{code};
+    }
+
+    public boolean hasEstimate(int row) {
+        return originalEstimateSeconds[row] != NO_VALUE;
+    }
+
+    public int getOriginalEstimateSeconds(int row) {
+        return originalEstimateSeconds[row];
+    }
+
+    public int getTimeSpentSeconds(int row) {
+        return timeSpentSeconds[row];
+    }
+
+    public long getStartEpochSeconds(int row) {
+        return startEpochSeconds[row];
+    }
+
+    public long getEndEpochSeconds(int row) {
+        return endEpochSeconds[row];
+    }
+
+    public String getDescription(int row) {
+        return descriptions != null ? descriptions[row] : null;
+    }
+
+    /**
+     * 태스크의 기준 소요시간(시간).
+     * 시작일/종료일 커스텀 필드가 유효하면 그 차이를, 없으면 원래 추정치를, 둘 다 없으면 8시간을 사용한다.
+     */
+    public double getEstimatedDurationHours(int row) {
+        long start = startEpochSeconds[row];
+        long end = endEpochSeconds[row];
+        if (start != NO_DATE && end != NO_DATE && end > start) {
+            long hoursBetween = (end - start) / 3600;
+            return Math.max(1.0, hoursBetween); // 최소 1시간
+        }
+        int estimate = originalEstimateSeconds[row];
+        return estimate != NO_VALUE ? estimate / 3600.0 : DEFAULT_DURATION_HOURS;
+    }
+
+    public double[] getEstimatedDurationsHours() {
+        double[] durations = new double[size];
+        for (int i = 0; i < size; i++) {
+            durations[i] = getEstimatedDurationHours(i);
+        }
+        return durations;
+    }
+
+    public static long parseCustomDateTime(String dateStr) {
+        if (dateStr == null || dateStr.trim().isEmpty()) {
+            return NO_DATE;
+        }
+
+        // 다양한 날짜 형식 시도
+        for (String pattern : CUSTOM_DATE_PATTERNS) {
+            try {
+                return LocalDateTime.parse(dateStr, DateTimeFormatter.ofPattern(pattern)).toEpochSecond(ZoneOffset.UTC);
+            } catch (Exception e) {
+                // 다음 패턴 시도
+            }
+        }
+
+        try {
+            return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME).toEpochSecond(ZoneOffset.UTC);
+        } catch (Exception e) {
+            return NO_DATE;
+        }
+    }
+
+    public static final class Builder {
+        private final boolean includeDescription;
+        private int size;
+        private String[] keys = new String[64];
+        private short[] statusCodes = new short[64];
+        private short[] priorityCodes = new short[64];
+        private short[] issueTypeCodes = new short[64];
+        private int[] assigneeIds = new int[64];
+        private int[] epicIds = new int[64];
+        private int[] sprintIds = new int[64];
+        private int[] fixVersionOffsets = new int[65];
+        private int[] fixVersionIds = new int[64];
+        private long[] startEpochSeconds = new long[64];
+        private long[] endEpochSeconds = new long[64];
+        private int[] originalEstimateSeconds = new int[64];
+        private int[] timeSpentSeconds = new int[64];
+        private String[] descriptions = new String[64];
+
+        private final Dictionary statuses = new Dictionary();
+        private final Dictionary priorities = new Dictionary();
+        private final Dictionary issueTypes = new Dictionary();
+        private final Dictionary assignees = new Dictionary();
+        private final Dictionary epics = new Dictionary();
+        private final Dictionary sprints = new Dictionary();
+        private final Dictionary fixVersions = new Dictionary();
+
+        private Builder(boolean includeDescription) {
+            this.includeDescription = includeDescription;
+        }
+
+        public Builder add(String key, String status, String priority, String issueType, String assignee,
+                           long startEpochSecond, long endEpochSecond, Integer originalEstimate, Integer timeSpent,
+                           String description) {
+            return add(key, status, priority, issueType, assignee, startEpochSecond, endEpochSecond,
+                    originalEstimate, timeSpent, description, null, null, null);
+        }
+
+        public Builder add(String key, String status, String priority, String issueType, String assignee,
+                           long startEpochSecond, long endEpochSecond, Integer originalEstimate, Integer timeSpent,
+                           String description, String epic, String sprint, List<String> fixVersionNames) {
+            if (size == keys.length) {
+                grow();
+            }
+            keys[size] = key;
+            statusCodes[size] = (short) statuses.code(status);
+            priorityCodes[size] = (short) priorities.code(priority);
+            issueTypeCodes[size] = (short) issueTypes.code(issueType);
+            assigneeIds[size] = assignee != null ? assignees.code(assignee) : NO_VALUE;
+            epicIds[size] = epic != null ? epics.code(epic) : NO_VALUE;
+            sprintIds[size] = sprint != null ? sprints.code(sprint) : NO_VALUE;
+            int versionCount = fixVersionOffsets[size];
+            if (fixVersionNames != null) {
+                for (String name : fixVersionNames) {
+                    if (name == null) {
+                        continue;
+                    }
+                    if (versionCount == fixVersionIds.length) {
+                        fixVersionIds = Arrays.copyOf(fixVersionIds, versionCount * 2);
+                    }
+                    fixVersionIds[versionCount++] = fixVersions.code(name);
+                }
+            }
+            fixVersionOffsets[size + 1] = versionCount;
+            startEpochSeconds[size] = startEpochSecond;
+            endEpochSeconds[size] = endEpochSecond;
+            originalEstimateSeconds[size] = originalEstimate != null ? originalEstimate : NO_VALUE;
+            timeSpentSeconds[size] = timeSpent != null ? timeSpent : NO_VALUE;
+            if (includeDescription) {
+                descriptions[size] = description;
+            }
+            size++;
+            return this;
+        }
+
+        public TaskTable build() {
+            return new TaskTable(this);
+        }
+
+        private void grow() {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            priorityCodes = Arrays.copyOf(priorityCodes, capacity);
+            issueTypeCodes = Arrays.copyOf(issueTypeCodes, capacity);
+            assigneeIds = Arrays.copyOf(assigneeIds, capacity);
+            epicIds = Arrays.copyOf(epicIds, capacity);
+            sprintIds = Arrays.copyOf(sprintIds, capacity);
+            fixVersionOffsets = Arrays.copyOf(fixVersionOffsets, capacity + 1);
+            startEpochSeconds = Arrays.copyOf(startEpochSeconds, capacity);
+            endEpochSeconds = Arrays.copyOf(endEpochSeconds, capacity);
+            originalEstimateSeconds = Arrays.copyOf(originalEstimateSeconds, capacity);
+            timeSpentSeconds = Arrays.copyOf(timeSpentSeconds, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+
+    /**
+     * 문자열 값을 등장 순서대로 0부터 코드화하는 사전. null도 하나의 값으로 취급한다.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        private int code(String name) {
+            Integer code = codes.get(name);
+            if (code == null) {
+                code = names.size();
+                codes.put(name, code);
+                names.add(name);
+            }
+            return code;
+        }
+
+        private String[] toArray() {
+            return names.toArray(new String[0]);
+        }
+    }
+}
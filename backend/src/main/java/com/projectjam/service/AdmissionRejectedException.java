@@ -0,0 +1,27 @@
+package com.projectjam.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 시뮬레이션 요청이 수용 한도를 넘어 거절되었음을 나타낸다.
+ * 429는 클라이언트별 한도 초과, 503은 서버 전체 과부하, 507은 샘플 저장 공간 부족을 의미한다.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+    
+    public AdmissionRejectedException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.projectjam.service;
+
+import java.util.Map;
+
+/**
+ * 완료 이슈의 실적/추정 비율(timeSpent / originalEstimate)로 만든 세그먼트별 분위수 테이블.
+ *
+ * 세그먼트는 (이슈 유형, 우선순위, 담당자) → (이슈 유형, 우선순위) → (이슈 유형) → 전체 순으로
+ * 표본이 충분한 가장 구체적인 것을 사용한다. 샘플링은 균등 난수로 테이블 위치를 찾아
+ * 선형 보간하므로 표본 수와 무관하게 O(1)이다.
+ */
+public final class DurationCalibration {
+
+    static final String ANY = "*";
+
+    private final Map<String, double[]> quantileTables;
+
+    DurationCalibration(Map<String, double[]> quantileTables) {
+        this.quantileTables = quantileTables;
+    }
+
+    /**
+     * 세그먼트 키 → 분위수 테이블. 분산 실행에서 피어에 같은 보정을 전달할 때 사용한다.
+     */
+    public Map<String, double[]> getQuantileTables() {
+        return quantileTables;
+    }
+
+    public boolean isEmpty() {
+        return quantileTables.isEmpty();
+    }
+
+    public double[] resolve(String issueType, String priority, String assignee) {
+        double[] table = quantileTables.get(segmentKey(issueType, priority, assignee));
+        if (table == null) {
+            table = quantileTables.get(segmentKey(issueType, priority, ANY));
+        }
+        if (table == null) {
+            table = quantileTables.get(segmentKey(issueType, ANY, ANY));
+        }
+        if (table == null) {
+            table = quantileTables.get(segmentKey(ANY, ANY, ANY));
+        }
+        return table;
+    }
+
+    public static double sampleRatio(double[] quantiles, double u) {
+        double position = u * (quantiles.length - 1);
+        int lower = (int) position;
+        if (lower >= quantiles.length - 1) {
+            return quantiles[quantiles.length - 1];
+        }
+        return quantiles[lower] + (quantiles[lower + 1] - quantiles[lower]) * (position - lower);
+    }
+
+    static String segmentKey(String issueType, String priority, String assignee) {
+        return valueOrDash(issueType) + "|" + valueOrDash(priority) + "|" + valueOrDash(assignee);
+    }
+
+    private static String valueOrDash(String value) {
+        return value != null ? value : "-";
+    }
+}
@@ -0,0 +1,305 @@
+package com.projectjam.service;
+
+import com.projectjam.model.CalibrationSummary;
+import com.projectjam.model.TaskTable;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 완료 이슈의 실적/추정 비율로 프로젝트별 경험적 소요시간 모델을 만들고 캐시한다.
+ *
+ * 첫 보정은 lookback-days 범위의 완료 이슈를 모두 가져오고, 이후 갱신은 마지막 갱신 이후
+ * 수정된 이슈만 가져와 이슈 키 기준으로 기존 관측치에 병합한 뒤 분위수 테이블만 다시 만든다.
+ * 갱신마다 그 사이 다시 열린 이슈를 빼고, 해결일이 lookback-days 범위를 벗어난 관측치를 만료시킨다.
+ *
+ * Jira 조회는 요청 스레드가 아닌 전용 스레드에서 실행한다. 갱신 주기가 지나면 갱신을 예약하고 기존 보정을 바로 반환하며,
+ * 갱신이 실패하면 경고를 남기고 이전 보정을 계속 사용한다. 첫 보정만 initial-load-timeout-ms까지 기다리고,
+ * 그때까지 준비되지 않으면 null(empirical은 삼각분포로 대체)을 반환한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DurationCalibrationService {
+
+    // 비정상적인 실적 입력(예: 추정 1분, 실적 3일)이 분포 꼬리를 지배하지 않도록 비율을 제한
+    private static final double MIN_RATIO = 0.05;
+    private static final double MAX_RATIO = 20.0;
+    // 갱신 사이에 수정된 이슈를 놓치지 않도록 조회 구간을 약간 겹침
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(10);
+    // 갱신 실패 후 다시 시도하기까지의 간격
+    private static final Duration FAILURE_RETRY = Duration.ofMinutes(1);
+
+    private final JiraService jiraService;
+
+    @Value("${calibration.refresh-interval-minutes:60}")
+    private long refreshIntervalMinutes;
+
+    @Value("${calibration.lookback-days:365}")
+    private long lookbackDays;
+
+    @Value("${calibration.min-samples:20}")
+    private int minSamples;
+
+    @Value("${calibration.quantile-points:101}")
+    private int quantilePoints;
+
+    @Value("${calibration.initial-load-timeout-ms:2000}")
+    private long initialLoadTimeoutMs;
+
+    private final Map<String, ProjectCalibration> calibrations = new ConcurrentHashMap<>();
+    // 갱신은 한 번에 하나씩 (관측치 맵은 이 스레드만 수정)
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "calibration-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 프로젝트의 보정. 첫 보정이 아직 준비되지 않았거나 실패했으면 null.
+     */
+    public DurationCalibration getCalibration(String projectKey) {
+        Snapshot snapshot = current(projectKey);
+        return snapshot != null ? snapshot.model : null;
+    }
+
+    /**
+     * 보정 요약. 첫 보정이 아직 준비되지 않았거나 실패했으면 null.
+     */
+    public CalibrationSummary getSummary(String projectKey) {
+        Snapshot snapshot = current(projectKey);
+        if (snapshot == null) {
+            return null;
+        }
+
+        List<CalibrationSummary.SegmentSummary> segments = new ArrayList<>();
+        snapshot.segmentSizes.forEach((segment, count) -> {
+            double[] table = snapshot.tables.get(segment);
+            segments.add(CalibrationSummary.SegmentSummary.builder()
+                    .segment(segment)
+                    .sampleCount(count)
+                    .p10Ratio(DurationCalibration.sampleRatio(table, 0.1))
+                    .p50Ratio(DurationCalibration.sampleRatio(table, 0.5))
+                    .p90Ratio(DurationCalibration.sampleRatio(table, 0.9))
+                    .build());
+        });
+        segments.sort((s1, s2) -> Integer.compare(s2.getSampleCount(), s1.getSampleCount()));
+
+        return CalibrationSummary.builder()
+                .projectKey(projectKey)
+                .refreshedAt(snapshot.refreshedAt)
+                .observationCount(snapshot.observationCount)
+                .segments(segments)
+                .build();
+    }
+
+    /**
+     * 표본이 충분한 세그먼트가 있는 보정이 준비됐는지. 보정을 불러오거나 기다리지 않는다.
+     */
+    public boolean isReady(String projectKey) {
+        ProjectCalibration calibration = calibrations.get(projectKey);
+        Snapshot snapshot = calibration != null ? calibration.snapshot : null;
+        return snapshot != null && !snapshot.model.isEmpty();
+    }
+
+    public void invalidate(String projectKey) {
+        calibrations.remove(projectKey);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Snapshot current(String projectKey) {
+        ProjectCalibration calibration = calibrations.computeIfAbsent(projectKey, key -> new ProjectCalibration());
+
+        CompletableFuture<Void> pending;
+        synchronized (calibration) {
+            if (calibration.refreshing == null && !LocalDateTime.now().isBefore(calibration.nextRefreshAt)) {
+                calibration.refreshing = CompletableFuture.runAsync(() -> refresh(projectKey, calibration), refreshExecutor);
+            }
+            if (calibration.snapshot != null) {
+                return calibration.snapshot;
+            }
+            pending = calibration.refreshing;
+        }
+
+        // 첫 보정만 제한 시간까지 기다림
+        if (pending != null) {
+            try {
+                pending.get(initialLoadTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                log.info("Calibration for project {} is still loading", projectKey);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.warn("Calibration for project {} failed", projectKey, e.getCause());
+            }
+        }
+        return calibration.snapshot;
+    }
+
+    private void refresh(String projectKey, ProjectCalibration calibration) {
+        LocalDateTime now = LocalDateTime.now();
+        Snapshot previous = calibration.snapshot;
+        LocalDateTime nextRefreshAt;
+        try {
+            calibration.snapshot = load(projectKey, calibration, previous, now);
+            nextRefreshAt = now.plusMinutes(refreshIntervalMinutes);
+        } catch (RuntimeException e) {
+            nextRefreshAt = now.plus(FAILURE_RETRY);
+            if (previous != null) {
+                log.warn("Calibration refresh failed for project {}, serving calibration from {}", projectKey, previous.refreshedAt, e);
+            } else {
+                log.warn("Calibration failed for project {}, retrying in {}", projectKey, FAILURE_RETRY, e);
+            }
+        }
+
+        synchronized (calibration) {
+            calibration.nextRefreshAt = nextRefreshAt;
+            calibration.refreshing = null;
+        }
+    }
+
+    private Snapshot load(String projectKey, ProjectCalibration calibration, Snapshot previous, LocalDateTime now) {
+        LocalDateTime since = previous != null
+                ? previous.refreshedAt.minus(REFRESH_OVERLAP)
+                : now.minusDays(lookbackDays);
+
+        // 다시 열린 이슈를 먼저 빼야 두 조회 사이에 다시 완료된 이슈가 아래 병합으로 복구됨
+        List<String> reopened = previous != null ? jiraService.getReopenedTaskKeys(projectKey, since) : List.of();
+        reopened.forEach(calibration.observations::remove);
+
+        long nowEpochSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        TaskTable completed = jiraService.getCompletedTaskTable(projectKey, since);
+        for (int i = 0; i < completed.size(); i++) {
+            int estimate = completed.getOriginalEstimateSeconds(i);
+            int spent = completed.getTimeSpentSeconds(i);
+            if (estimate <= 0 || spent <= 0) {
+                continue;
+            }
+
+            double ratio = Math.min(MAX_RATIO, Math.max(MIN_RATIO, (double) spent / estimate));
+            // 해결일이 없으면 관측한 시각 기준으로 만료
+            long resolved = completed.getEndEpochSeconds(i);
+            calibration.observations.put(completed.getKey(i), new Observation(
+                    completed.getIssueType(i), completed.getPriority(i), completed.getAssignee(i), ratio,
+                    resolved != TaskTable.NO_DATE ? resolved : nowEpochSeconds));
+        }
+
+        // 첫 조회는 수정일 기준이므로 오래전에 해결된 이슈도 섞여 있음. 전체 재조회 없이 해결일로 만료
+        long cutoff = now.minusDays(lookbackDays).toEpochSecond(ZoneOffset.UTC);
+        int before = calibration.observations.size();
+        calibration.observations.values().removeIf(observation -> observation.resolvedEpochSeconds < cutoff);
+        int expired = before - calibration.observations.size();
+
+        Snapshot snapshot = rebuildTables(calibration, now);
+        log.info("Calibrated duration model for project {}: {} new/updated issues, {} reopened, {} expired, {} observations, {} segments",
+                projectKey, completed.size(), reopened.size(), expired, snapshot.observationCount, snapshot.tables.size());
+        return snapshot;
+    }
+
+    private Snapshot rebuildTables(ProjectCalibration calibration, LocalDateTime refreshedAt) {
+        // 세그먼트별 비율 수집 (각 관측치는 4단계 세그먼트 모두에 기여)
+        Map<String, List<Double>> samplesBySegment = new HashMap<>();
+        for (Observation observation : calibration.observations.values()) {
+            String type = observation.issueType;
+            String priority = observation.priority;
+            addSample(samplesBySegment, DurationCalibration.segmentKey(type, priority, observation.assignee), observation.ratio);
+            addSample(samplesBySegment, DurationCalibration.segmentKey(type, priority, DurationCalibration.ANY), observation.ratio);
+            addSample(samplesBySegment, DurationCalibration.segmentKey(type, DurationCalibration.ANY, DurationCalibration.ANY), observation.ratio);
+            addSample(samplesBySegment, DurationCalibration.segmentKey(DurationCalibration.ANY, DurationCalibration.ANY, DurationCalibration.ANY), observation.ratio);
+        }
+
+        Map<String, double[]> tables = new HashMap<>();
+        Map<String, Integer> segmentSizes = new HashMap<>();
+        samplesBySegment.forEach((segment, samples) -> {
+            if (samples.size() >= minSamples) {
+                tables.put(segment, quantileTable(samples));
+                segmentSizes.put(segment, samples.size());
+            }
+        });
+
+        return new Snapshot(new DurationCalibration(tables), tables, segmentSizes, refreshedAt, calibration.observations.size());
+    }
+
+    private double[] quantileTable(List<Double> samples) {
+        double[] sorted = samples.stream().mapToDouble(d -> d).toArray();
+        Arrays.sort(sorted);
+
+        double[] table = new double[quantilePoints];
+        for (int k = 0; k < quantilePoints; k++) {
+            double position = (double) k / (quantilePoints - 1) * (sorted.length - 1);
+            int lower = (int) position;
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            table[k] = sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+        }
+        return table;
+    }
+
+    private void addSample(Map<String, List<Double>> samplesBySegment, String segment, double ratio) {
+        samplesBySegment.computeIfAbsent(segment, key -> new ArrayList<>()).add(ratio);
+    }
+
+    private static final class ProjectCalibration {
+        private final Map<String, Observation> observations = new HashMap<>(); // 이슈 키 → 관측치, 갱신 스레드만 사용
+        private volatile Snapshot snapshot;
+        private LocalDateTime nextRefreshAt = LocalDateTime.MIN; // lock: this
+        private CompletableFuture<Void> refreshing; // lock: this
+    }
+
+    /**
+     * 한 번의 갱신 결과. 만든 뒤에는 바꾸지 않으므로 잠금 없이 읽는다.
+     */
+    private static final class Snapshot {
+        private final DurationCalibration model;
+        private final Map<String, double[]> tables;
+        private final Map<String, Integer> segmentSizes;
+        private final LocalDateTime refreshedAt;
+        private final int observationCount;
+
+        private Snapshot(DurationCalibration model, Map<String, double[]> tables, Map<String, Integer> segmentSizes,
+                         LocalDateTime refreshedAt, int observationCount) {
+            this.model = model;
+            this.tables = tables;
+            this.segmentSizes = segmentSizes;
+            this.refreshedAt = refreshedAt;
+            this.observationCount = observationCount;
+        }
+    }
+
+    private static final class Observation {
+        private final String issueType;
+        private final String priority;
+        private final String assignee;
+        private final double ratio;
+        private final long resolvedEpochSeconds;
+
+        private Observation(String issueType, String priority, String assignee, double ratio, long resolvedEpochSeconds) {
+            this.issueType = issueType;
+            this.priority = priority;
+            this.assignee = assignee;
+            this.ratio = ratio;
+            this.resolvedEpochSeconds = resolvedEpochSeconds;
+        }
+    }
+}
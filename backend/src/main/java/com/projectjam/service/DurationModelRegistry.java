@@ -0,0 +1,159 @@
+package com.projectjam.service;
+
+import com.projectjam.service.duration.DurationModel;
+import com.projectjam.service.duration.EmpiricalDurationModel;
+import com.projectjam.service.duration.IssueTypeDurationModel;
+import com.projectjam.service.duration.LognormalDurationModel;
+import com.projectjam.service.duration.PertDurationModel;
+import com.projectjam.service.duration.TriangularDurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 모델 지정 문자열로 소요시간 모델을 만든다.
+ *
+ * 형식은 "기본모델;이슈유형=모델;..." (예: "pert;Bug=lognormal")이며 DurationModel.getName()과 같아서,
+ * 결과나 보관 실행에 기록된 이름으로 같은 모델을 다시 만들 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DurationModelRegistry {
+
+    private static final DurationModel TRIANGULAR = new TriangularDurationModel();
+    private static final DurationModel PERT = new PertDurationModel();
+    private static final DurationModel LOGNORMAL = new LognormalDurationModel();
+
+    private final DurationCalibrationService durationCalibrationService;
+
+    @Value("${simulation.duration-model.default:triangular}")
+    private String defaultSpec;
+
+    public String getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    /**
+     * spec이 비어 있으면 설정의 기본 모델을 사용한다. 알 수 없는 모델 이름은 IllegalArgumentException.
+     */
+    public DurationModel create(String projectKey, String spec) {
+        String resolved = resolve(spec);
+        return create(resolved, requiresCalibration(resolved) ? calibration(projectKey) : null);
+    }
+
+    /**
+     * 주어진 보정으로 모델을 만든다. calibration이 null이거나 표본이 충분한 세그먼트가 없으면 empirical은 삼각분포로
+     * 대체되고, 모델 이름(결과와 히스토리에 기록되는 값)도 실제로 쓴 triangular가 된다.
+     */
+    public DurationModel create(String spec, DurationCalibration calibration) {
+        String[] parts = resolve(spec).split(";");
+
+        // 경험적 모델은 한 번만 만들어 모든 이슈 유형에서 공유
+        DurationModel empirical = calibration != null && !calibration.isEmpty()
+                ? new EmpiricalDurationModel(calibration, TRIANGULAR) : TRIANGULAR;
+        DurationModel defaultModel = named(parts[0].trim(), empirical);
+        Map<String, DurationModel> modelsByIssueType = new LinkedHashMap<>();
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            int separator = part.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid duration model entry: " + part);
+            }
+            modelsByIssueType.put(part.substring(0, separator).trim(), named(part.substring(separator + 1).trim(), empirical));
+        }
+
+        return modelsByIssueType.isEmpty() ? defaultModel : new IssueTypeDurationModel(defaultModel, modelsByIssueType);
+    }
+
+    public String resolve(String spec) {
+        return spec == null || spec.isBlank() ? defaultSpec : spec;
+    }
+
+    public boolean requiresCalibration(String spec) {
+        for (String part : resolve(spec).split(";")) {
+            String name = part.substring(part.lastIndexOf('=') + 1).trim();
+            if (EmpiricalDurationModel.NAME.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * spec이 empirical을 요구했지만 보정이 없어 modelName(실제로 쓴 모델 이름)에서 삼각분포로 대체됐는지.
+     */
+    public boolean fellBack(String spec, String modelName) {
+        return requiresCalibration(spec) && modelName != null && !requiresCalibration(modelName);
+    }
+
+    /**
+     * 프로젝트의 경험적 보정이 준비됐는지. 보정을 불러오거나 기다리지 않는다.
+     */
+    public boolean isCalibrated(String projectKey) {
+        return durationCalibrationService.isReady(projectKey);
+    }
+
+    /**
+     * 프로젝트의 경험적 보정. 가져오지 못하면 null (empirical은 삼각분포로 대체).
+     */
+    public DurationCalibration calibration(String projectKey) {
+        try {
+            return durationCalibrationService.getCalibration(projectKey);
+        } catch (Exception e) {
+            log.warn("Calibration unavailable for project {}, falling back to triangular model", projectKey, e);
+            return null;
+        }
+    }
+
+    /**
+     * 기본 모델 이름과 이슈 유형별 모델 이름으로 지정 문자열을 만든다. 기본 모델이 없으면 설정의 기본 모델을 사용한다.
+     * 이슈 유형이나 모델 이름에 구분자(';', '=')가 들어 있으면 지정 문자열이 달리 해석되므로 IllegalArgumentException.
+     */
+    public String spec(String defaultModel, Map<String, String> modelsByIssueType) {
+        requireNoSeparator(defaultModel);
+        if (modelsByIssueType != null) {
+            modelsByIssueType.forEach((issueType, model) -> {
+                if (issueType == null || issueType.isBlank()) {
+                    throw new IllegalArgumentException("Issue type name must not be blank");
+                }
+                requireNoSeparator(issueType);
+                requireNoSeparator(model);
+            });
+        }
+        StringBuilder spec = new StringBuilder(defaultModel != null && !defaultModel.isBlank()
+                ? defaultModel : defaultSpec.split(";")[0].trim());
+        if (modelsByIssueType != null) {
+            modelsByIssueType.forEach((issueType, model) -> spec.append(';').append(issueType).append('=').append(model));
+        }
+        return spec.toString();
+    }
+
+    private static void requireNoSeparator(String name) {
+        if (name != null && (name.indexOf(';') >= 0 || name.indexOf('=') >= 0)) {
+            throw new IllegalArgumentException("Issue type and model names must not contain ';' or '=': " + name);
+        }
+    }
+
+    private DurationModel named(String name, DurationModel empirical) {
+        switch (name) {
+            case TriangularDurationModel.NAME:
+                return TRIANGULAR;
+            case PertDurationModel.NAME:
+                return PERT;
+            case LognormalDurationModel.NAME:
+                return LOGNORMAL;
+            case EmpiricalDurationModel.NAME:
+                return empirical;
+            default:
+                throw new IllegalArgumentException("Unknown duration model: " + name);
+        }
+    }
+}
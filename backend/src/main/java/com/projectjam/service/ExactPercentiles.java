@@ -0,0 +1,94 @@
+package com.projectjam.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 값을 한 번에 메모리에 올리지 않고 정확한 백분위수를 구하는 히스토그램 기반 선택.
+ *
+ * 1) [min, max]를 BINS개 구간으로 나눈 히스토그램을 만들고, 2) 각 순위가 속한 구간만 골라,
+ * 3) 그 구간의 값만 모아 정렬해 순위값을 읽는다. 히스토그램과 구간 값은 합치기만 하면 되므로
+ * 파일로 저장된 실행과 여러 노드에 나뉜 실행이 같은 방식으로 계산한다.
+ * 위치 계산은 DescriptiveStatistics 기본 추정법과 같다: pos = p(n + 1) / 100.
+ */
+final class ExactPercentiles {
+
+    static final int BINS = 1 << 16;
+
+    private final long count;
+    private final long[] lowerRanks;
+    private final double[] fractions;
+
+    private ExactPercentiles(long count, long[] lowerRanks, double[] fractions) {
+        this.count = count;
+        this.lowerRanks = lowerRanks;
+        this.fractions = fractions;
+    }
+
+    static ExactPercentiles of(double[] percentiles, long count) {
+        long[] lowerRanks = new long[percentiles.length];
+        double[] fractions = new double[percentiles.length];
+        for (int k = 0; k < percentiles.length; k++) {
+            double position = percentiles[k] * (count + 1) / 100.0;
+            lowerRanks[k] = Math.max(0, Math.min(count - 1, (long) Math.floor(position) - 1));
+            fractions[k] = position < 1 || position >= count ? 0 : position - Math.floor(position);
+        }
+        return new ExactPercentiles(count, lowerRanks, fractions);
+    }
+
+    static double binWidth(double min, double max) {
+        return (max - min) / BINS;
+    }
+
+    static int bin(double x, double min, double binWidth) {
+        return Math.min(BINS - 1, (int) ((x - min) / binWidth));
+    }
+
+    /**
+     * 백분위수 계산에 필요한 값이 들어 있는 구간 번호.
+     */
+    Set<Integer> targetBins(long[] histogram) {
+        Set<Integer> bins = new TreeSet<>();
+        for (long lowerRank : lowerRanks) {
+            bins.add(binOfRank(histogram, lowerRank));
+            bins.add(binOfRank(histogram, Math.min(count - 1, lowerRank + 1)));
+        }
+        return bins;
+    }
+
+    /**
+     * binValues는 targetBins의 각 구간에 속한 값 전체 (정렬 여부 무관, 이 메서드가 정렬한다).
+     */
+    double[] resolve(long[] histogram, Map<Integer, double[]> binValues) {
+        binValues.values().forEach(Arrays::sort);
+        double[] percentiles = new double[lowerRanks.length];
+        for (int k = 0; k < lowerRanks.length; k++) {
+            double lower = valueAtRank(histogram, binValues, lowerRanks[k]);
+            double upper = valueAtRank(histogram, binValues, Math.min(count - 1, lowerRanks[k] + 1));
+            percentiles[k] = lower + fractions[k] * (upper - lower);
+        }
+        return percentiles;
+    }
+
+    private static int binOfRank(long[] histogram, long rank) {
+        long seen = 0;
+        for (int bin = 0; bin < histogram.length; bin++) {
+            seen += histogram[bin];
+            if (rank < seen) {
+                return bin;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    private static double valueAtRank(long[] histogram, Map<Integer, double[]> binValues, long rank) {
+        int bin = binOfRank(histogram, rank);
+        long before = 0;
+        for (int b = 0; b < bin; b++) {
+            before += histogram[b];
+        }
+        return binValues.get(bin)[(int) (rank - before)];
+    }
+}
@@ -0,0 +1,142 @@
+package com.projectjam.service;
+
+import com.projectjam.model.GroupRollup;
+import com.projectjam.model.TaskGrouping;
+import com.projectjam.model.TaskTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 샘플 컬럼을 그룹별 반복 합계로 누적한다.
+ *
+ * 모든 집계 기준의 그룹에 전역 번호를 매기고, 태스크 → 그룹 번호를 offsets/groups 두 원시 배열로 보관한다.
+ * 태스크 샘플 컬럼을 만든 직후 add로 속한 그룹 합계에 더하므로 추가 비용은 (태스크, 그룹) 소속 수 × 반복 횟수의
+ * 덧셈과 그룹별 정렬 한 번뿐이며, 집계 기준 수와 무관하게 샘플링은 다시 하지 않는다.
+ * 값이 없는 태스크는 기준별 "없음" 그룹(이름 null)으로, 릴리스가 여러 개인 태스크는 각 릴리스에 모두 포함된다.
+ */
+final class GroupRollups {
+
+    private final List<TaskGrouping> groupings;
+    private final int[] groupStarts; // 집계 기준 k의 그룹 번호는 [groupStarts[k], groupStarts[k + 1])
+    private final String[] groupNames;
+    private final int[] taskOffsets; // 태스크 t의 그룹 번호는 taskGroups[taskOffsets[t], taskOffsets[t + 1])
+    private final int[] taskGroups;
+    private final int[] taskCounts;
+    private final double[] estimatedDurations;
+    private final double[][] totals; // [그룹][반복], 태스크가 없는 그룹은 null
+
+    GroupRollups(TaskTable table, List<TaskGrouping> groupings, double[] taskEstimatedDurations, int numSimulations) {
+        this.groupings = groupings;
+        int taskCount = table.size();
+
+        // 기준별로 테이블 코드 + "없음" 그룹 하나
+        groupStarts = new int[groupings.size() + 1];
+        for (int k = 0; k < groupings.size(); k++) {
+            groupStarts[k + 1] = groupStarts[k] + table.groupCount(groupings.get(k)) + 1;
+        }
+        int groupCount = groupStarts[groupings.size()];
+        groupNames = new String[groupCount];
+        for (int k = 0; k < groupings.size(); k++) {
+            for (int code = 0; code < table.groupCount(groupings.get(k)); code++) {
+                groupNames[groupStarts[k] + code] = table.groupName(groupings.get(k), code);
+            }
+        }
+
+        taskOffsets = new int[taskCount + 1];
+        int[] groups = new int[taskCount * groupings.size()];
+        int memberships = 0;
+        for (int t = 0; t < taskCount; t++) {
+            for (int k = 0; k < groupings.size(); k++) {
+                int[] codes = table.groupCodes(groupings.get(k), t);
+                int needed = memberships + Math.max(1, codes.length);
+                if (needed > groups.length) {
+                    groups = Arrays.copyOf(groups, Math.max(groups.length * 2, needed));
+                }
+                if (codes.length == 0) {
+                    groups[memberships++] = groupStarts[k + 1] - 1;
+                }
+                for (int code : codes) {
+                    groups[memberships++] = groupStarts[k] + code;
+                }
+            }
+            taskOffsets[t + 1] = memberships;
+        }
+        taskGroups = Arrays.copyOf(groups, memberships);
+
+        taskCounts = new int[groupCount];
+        estimatedDurations = new double[groupCount];
+        for (int t = 0; t < taskCount; t++) {
+            for (int m = taskOffsets[t]; m < taskOffsets[t + 1]; m++) {
+                taskCounts[taskGroups[m]]++;
+                estimatedDurations[taskGroups[m]] += taskEstimatedDurations[t];
+            }
+        }
+        totals = new double[groupCount][];
+        for (int g = 0; g < groupCount; g++) {
+            if (taskCounts[g] > 0) {
+                totals[g] = new double[numSimulations];
+            }
+        }
+    }
+
+    /**
+     * 누적에 필요한 그룹 합계 배열 수. 수용 제어 비용 계산에 사용한다.
+     */
+    static int groupCount(TaskTable table, List<TaskGrouping> groupings) {
+        int count = 0;
+        for (TaskGrouping grouping : groupings) {
+            count += table.groupCount(grouping) + 1;
+        }
+        return count;
+    }
+
+    /**
+     * 태스크 t의 반복 [0, samples.length) 샘플을 속한 그룹 합계에 더한다.
+     */
+    void add(int task, double[] samples) {
+        for (int m = taskOffsets[task]; m < taskOffsets[task + 1]; m++) {
+            double[] groupTotals = totals[taskGroups[m]];
+            for (int i = 0; i < samples.length; i++) {
+                groupTotals[i] += samples[i];
+            }
+        }
+    }
+
+    /**
+     * 그룹별 요약. 합계 배열을 제자리에서 정렬하므로 한 번만 호출한다.
+     */
+    Map<String, List<GroupRollup>> summarize() {
+        Map<String, List<GroupRollup>> rollups = new LinkedHashMap<>();
+        for (int k = 0; k < groupings.size(); k++) {
+            List<GroupRollup> groups = new ArrayList<>();
+            for (int g = groupStarts[k]; g < groupStarts[k + 1]; g++) {
+                if (totals[g] == null) {
+                    continue;
+                }
+                double[] sorted = totals[g];
+                double sum = 0;
+                for (double x : sorted) {
+                    sum += x;
+                }
+                Arrays.sort(sorted);
+                groups.add(GroupRollup.builder()
+                        .group(groupNames[g])
+                        .taskCount(taskCounts[g])
+                        .estimatedDuration(estimatedDurations[g])
+                        .p50Duration(SortedSamples.quantile(sorted, 0.5))
+                        .p80Duration(SortedSamples.quantile(sorted, 0.8))
+                        .p90Duration(SortedSamples.quantile(sorted, 0.9))
+                        .meanDuration(sum / sorted.length)
+                        .onTimeProbability(SortedSamples.cdf(sorted, estimatedDurations[g]))
+                        .build());
+                totals[g] = null;
+            }
+            rollups.put(groupings.get(k).getName(), groups);
+        }
+        return rollups;
+    }
+}
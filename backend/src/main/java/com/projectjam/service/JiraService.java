@@ -4,16 +4,29 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectjam.model.JiraTask;
 import com.projectjam.model.ProjectInfo;
+import com.projectjam.model.TaskTable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 
@@ -30,6 +43,22 @@ public class JiraService {
     @Value("${jira.password}")
     private String password;
     
+    // live: Jira 직접 호출, record: 호출 결과를 디스크에 저장, replay: 저장된 응답만 사용
+    @Value("${jira.mode:live}")
+    private String mode;
+    
+    @Value("${jira.snapshot-dir:./data/jira-snapshots}")
+    private String snapshotDir;
+    
+    private static final String MODE_RECORD = "record";
+    private static final String MODE_REPLAY = "replay";
+    private static final String SNAPSHOT_INDEX_FILE = "index.tsv";
+    private static final int SEARCH_PAGE_SIZE = 1000;
+    private static final DateTimeFormatter JQL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // 보정용 조회의 updated >= "날짜" 조건은 실행 시각에 따라 바뀌므로 스냅샷 키에서는 고정 문자열로 치환
+    private static final Pattern RELATIVE_UPDATED_CLAUSE = Pattern.compile("updated >= \"[^\"]*\"");
+    private static final String UPDATED_CLAUSE_KEY = "updated >= \"*\"";
+    
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
     
@@ -43,28 +72,12 @@ public class JiraService {
     public List<JiraTask> getProjectTasks(String projectKey) {
         try {
             String jql = String.format("project = %s AND status != Closed ORDER BY created DESC", projectKey);
-            String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
             
             // 필요한 필드들을 요청 (커스텀 필드 포함)
-            String fieldsParam = "summary,description,status,assignee,priority,created,updated,duedate,timetracking,issuetype,epic,fixVersions,sprint,customfield_10332,customfield_10333";
-            String apiUrl = jiraUrl + "/rest/api/2/search?jql=" + jql + "&fields=" + fieldsParam + "&maxResults=1000";
-
-            
-            String response = webClient.get()
-                    .uri(apiUrl)
-                    .header("Authorization", "Basic " + auth)
-                    .header("Content-Type", "application/json")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode issues = root.get("issues");
-            
-
+            String fieldsParam = "summary,description,status,assignee,priority,created,updated,duedate,timetracking,issuetype,epic,parent,fixVersions,sprint,customfield_10332,customfield_10333";
             
             List<JiraTask> tasks = new ArrayList<>();
-            for (JsonNode issue : issues) {
+            for (JsonNode issue : searchIssues(jql, fieldsParam)) {
                 JiraTask task = convertToJiraTask(issue);
                 if (task != null) {
                     tasks.add(task);
@@ -79,32 +92,117 @@ public class JiraService {
         }
     }
     
-    public List<JiraTask> getProjectTasksLightweight(String projectKey) {
+    public TaskTable getProjectTaskTable(String projectKey, boolean includeDescription) {
         try {
             String jql = String.format("project = %s AND status != Closed ORDER BY created DESC", projectKey);
-            String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
             
-            // 필요한 필드만 요청하여 응답 크기 줄이기
-            String fieldsParam = "key,summary";
-            String apiUrl = jiraUrl + "/rest/api/2/search?jql=" + jql + "&fields=" + fieldsParam + "&maxResults=1000";
+            // 시뮬레이션에 필요한 필드만 요청 (설명은 요청 시에만)
+            String fieldsParam = "status,assignee,priority,timetracking,issuetype,epic,parent,fixVersions,sprint,customfield_10332,customfield_10333"
+                    + (includeDescription ? ",description" : "");
             
-
+            // JiraTask 객체를 거치지 않고 JSON에서 바로 컬럼형 테이블로 적재
+            TaskTable.Builder builder = TaskTable.builder(includeDescription);
+            for (JsonNode issue : searchIssues(jql, fieldsParam)) {
+                JsonNode fields = issue.get("fields");
+                JsonNode keyNode = issue.get("key");
+                if (fields == null || keyNode == null) {
+                    continue;
+                }
+                
+                JsonNode timeTracking = fields.get("timetracking");
+                builder.add(keyNode.asText(),
+                        getNestedFieldText(fields, "status", "name"),
+                        getNestedFieldText(fields, "priority", "name"),
+                        getNestedFieldText(fields, "issuetype", "name"),
+                        getNestedFieldText(fields, "assignee", "name"),
+                        TaskTable.parseCustomDateTime(getCustomFieldValue(fields, "customfield_10332")),
+                        TaskTable.parseCustomDateTime(getCustomFieldValue(fields, "customfield_10333")),
+                        parseTimeTracking(timeTracking, "originalEstimateSeconds"),
+                        parseTimeTracking(timeTracking, "timeSpentSeconds"),
+                        includeDescription ? getFieldText(fields, "description") : null,
+                        parseEpic(fields),
+                        parseSprint(fields),
+                        parseFixVersions(fields));
+            }
             
-            String response = webClient.get()
-                    .uri(apiUrl)
-                    .header("Authorization", "Basic " + auth)
-                    .header("Content-Type", "application/json")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            return builder.build();
+        } catch (Exception e) {
+            log.error("Error fetching task table from Jira for project: {}", projectKey, e);
+            throw new RuntimeException("Failed to fetch task table from Jira", e);
+        }
+    }
+    
+    public TaskTable getCompletedTaskTable(String projectKey, LocalDateTime updatedSince) {
+        try {
+            // 실적(timespent)과 원래 추정치가 모두 있는 완료 이슈만 조회
+            String jql = String.format("project = %s AND statusCategory = Done AND timespent > 0 AND originalEstimate > 0", projectKey);
+            if (updatedSince != null) {
+                jql += " AND updated >= \"" + updatedSince.format(JQL_DATE_FORMAT) + "\"";
+            }
+            jql += " ORDER BY updated ASC";
             
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode issues = root.get("issues");
+            // 해결일은 종료일 컬럼에 적재 (보정 관측치를 lookback 범위로 만료시킬 때 사용)
+            String fieldsParam = "status,assignee,priority,timetracking,issuetype,resolutiondate";
             
-
+            TaskTable.Builder builder = TaskTable.builder(false);
+            for (JsonNode issue : searchIssues(jql, fieldsParam)) {
+                JsonNode fields = issue.get("fields");
+                JsonNode keyNode = issue.get("key");
+                if (fields == null || keyNode == null) {
+                    continue;
+                }
+                
+                JsonNode timeTracking = fields.get("timetracking");
+                builder.add(keyNode.asText(),
+                        getNestedFieldText(fields, "status", "name"),
+                        getNestedFieldText(fields, "priority", "name"),
+                        getNestedFieldText(fields, "issuetype", "name"),
+                        getNestedFieldText(fields, "assignee", "name"),
+                        TaskTable.NO_DATE,
+                        toEpochSeconds(parseDateTime(fields.get("resolutiondate"))),
+                        parseTimeTracking(timeTracking, "originalEstimateSeconds"),
+                        parseTimeTracking(timeTracking, "timeSpentSeconds"),
+                        null);
+            }
+            
+            return builder.build();
+        } catch (Exception e) {
+            log.error("Error fetching completed tasks from Jira for project: {}", projectKey, e);
+            throw new RuntimeException("Failed to fetch completed tasks from Jira", e);
+        }
+    }
+    
+    /**
+     * updatedSince 이후 수정됐지만 완료 상태가 아닌(다시 열린) 이슈 키.
+     */
+    public List<String> getReopenedTaskKeys(String projectKey, LocalDateTime updatedSince) {
+        try {
+            String jql = String.format("project = %s AND statusCategory != Done AND updated >= \"%s\"",
+                    projectKey, updatedSince.format(JQL_DATE_FORMAT));
+            
+            List<String> keys = new ArrayList<>();
+            for (JsonNode issue : searchIssues(jql, "status")) {
+                JsonNode keyNode = issue.get("key");
+                if (keyNode != null) {
+                    keys.add(keyNode.asText());
+                }
+            }
+            return keys;
+        } catch (Exception e) {
+            log.error("Error fetching reopened tasks from Jira for project: {}", projectKey, e);
+            throw new RuntimeException("Failed to fetch reopened tasks from Jira", e);
+        }
+    }
+    
+    public List<JiraTask> getProjectTasksLightweight(String projectKey) {
+        try {
+            String jql = String.format("project = %s AND status != Closed ORDER BY created DESC", projectKey);
+            
+            // 필요한 필드만 요청하여 응답 크기 줄이기
+            String fieldsParam = "key,summary";
             
             List<JiraTask> tasks = new ArrayList<>();
-            for (JsonNode issue : issues) {
+            for (JsonNode issue : searchIssues(jql, fieldsParam)) {
                 JsonNode fields = issue.get("fields");
                 tasks.add(JiraTask.builder()
                         .key(issue.get("key").asText())
@@ -122,24 +220,13 @@ public class JiraService {
     
     public List<ProjectInfo> searchProjects(String searchTerm) {
         try {
-            String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
-            
             // 검색어가 없으면 빈 리스트 반환
             if (searchTerm == null || searchTerm.trim().isEmpty()) {
                 log.info("🔍 Empty search term provided, returning empty list");
                 return new ArrayList<>();
             }
             
-            String apiUrl = jiraUrl + "/rest/api/2/project?maxResults=50";
-
-            
-            String response = webClient.get()
-                    .uri(apiUrl)
-                    .header("Authorization", "Basic " + auth)
-                    .header("Content-Type", "application/json")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            String response = fetch("/rest/api/2/project?maxResults=50");
             
             JsonNode projects = objectMapper.readTree(response);
             
@@ -168,18 +255,7 @@ public class JiraService {
     
     public List<String> getAvailableProjects() {
         try {
-            String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
-            
-            String apiUrl = jiraUrl + "/rest/api/2/project?maxResults=1000";
-
-            
-            String response = webClient.get()
-                    .uri(apiUrl)
-                    .header("Authorization", "Basic " + auth)
-                    .header("Content-Type", "application/json")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            String response = fetch("/rest/api/2/project?maxResults=1000");
             
             JsonNode projects = objectMapper.readTree(response);
 
@@ -198,7 +274,95 @@ public class JiraService {
         }
     }
     
-    private JiraTask convertToJiraTask(JsonNode issue) {
+    private List<JsonNode> searchIssues(String jql, String fieldsParam) throws Exception {
+        // Jira는 페이지당 반환 개수를 제한하므로 total에 도달할 때까지 startAt을 넘기며 조회
+        List<JsonNode> allIssues = new ArrayList<>();
+        int startAt = 0;
+        
+        while (true) {
+            String path = "/rest/api/2/search?jql=" + jql + "&fields=" + fieldsParam
+                    + "&startAt=" + startAt + "&maxResults=" + SEARCH_PAGE_SIZE;
+            JsonNode root = objectMapper.readTree(fetch(path));
+            JsonNode issues = root.get("issues");
+            if (issues == null || issues.isEmpty()) {
+                break;
+            }
+            
+            for (JsonNode issue : issues) {
+                allIssues.add(issue);
+            }
+            
+            startAt += issues.size();
+            JsonNode total = root.get("total");
+            if (total == null || startAt >= total.asInt()) {
+                break;
+            }
+        }
+        
+        return allIssues;
+    }
+    
+    private String fetch(String path) throws IOException {
+        // replay 모드에서는 Jira에 접속하지 않고 녹화된 응답만 사용
+        if (MODE_REPLAY.equals(mode)) {
+            Path snapshot = snapshotPath(path);
+            if (!Files.exists(snapshot)) {
+                throw new IOException("No recorded Jira response for " + path + " in " + snapshotDir);
+            }
+            return Files.readString(snapshot, StandardCharsets.UTF_8);
+        }
+        
+        String auth = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
+        String response = webClient.get()
+                .uri(jiraUrl + path)
+                .header("Authorization", "Basic " + auth)
+                .header("Content-Type", "application/json")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+        
+        if (MODE_RECORD.equals(mode) && response != null) {
+            Path snapshot = snapshotPath(path);
+            Files.createDirectories(snapshot.getParent());
+            Files.writeString(snapshot, response, StandardCharsets.UTF_8);
+            updateSnapshotIndex(snapshot, path);
+        }
+        
+        return response;
+    }
+    
+    private synchronized void updateSnapshotIndex(Path snapshot, String path) throws IOException {
+        // 다시 녹화한 요청은 기존 줄을 교체해 파일명당 한 줄만 남김
+        Path index = snapshot.resolveSibling(SNAPSHOT_INDEX_FILE);
+        String fileName = snapshot.getFileName().toString();
+        List<String> lines = new ArrayList<>();
+        if (Files.exists(index)) {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty() && !line.startsWith(fileName + "\t")) {
+                    lines.add(line);
+                }
+            }
+        }
+        lines.add(fileName + "\t" + path);
+        
+        Path temp = index.resolveSibling(SNAPSHOT_INDEX_FILE + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private Path snapshotPath(String path) {
+        // 호스트와 무관하게 요청 경로(쿼리 포함)로 스냅샷 파일을 식별.
+        // updated >= 조건의 날짜는 키에서 제외하므로 보정 조회는 마지막으로 녹화한 기간의 응답이 재생된다.
+        String key = RELATIVE_UPDATED_CLAUSE.matcher(path).replaceAll(Matcher.quoteReplacement(UPDATED_CLAUSE_KEY));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Paths.get(snapshotDir).resolve(HexFormat.of().formatHex(digest, 0, 16) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    public JiraTask convertToJiraTask(JsonNode issue) {
         try {
             JsonNode fields = issue.get("fields");
             if (fields == null) {
@@ -230,6 +394,9 @@ public class JiraService {
             Integer timeSpent = parseTimeTracking(fields.get("timetracking"), "timeSpentSeconds");
             Integer remainingEstimate = parseTimeTracking(fields.get("timetracking"), "remainingEstimateSeconds");
             String issueType = getNestedFieldText(fields, "issuetype", "name");
+            String epicLink = parseEpic(fields);
+            String sprint = parseSprint(fields);
+            List<String> fixVersions = parseFixVersions(fields);
             
             // 커스텀 필드들 가져오기
             String cf10332 = getCustomFieldValue(fields, "customfield_10332");
@@ -249,6 +416,9 @@ public class JiraService {
                     .originalEstimate(originalEstimate)
                     .timeSpent(timeSpent)
                     .remainingEstimate(remainingEstimate)
+                    .epicLink(epicLink)
+                    .sprint(sprint)
+                    .fixVersions(fixVersions)
                     .issueType(issueType)
                     .cf10332(cf10332)
                     .cf10333(cf10333)
@@ -277,6 +447,54 @@ public class JiraService {
         return null;
     }
     
+    private String parseEpic(JsonNode fields) {
+        // Jira Software의 epic 필드, 없으면 상위 이슈가 에픽인 경우 그 키
+        String epic = getNestedFieldText(fields, "epic", "key");
+        if (epic != null) {
+            return epic;
+        }
+        JsonNode parent = fields.get("parent");
+        if (parent != null && "Epic".equals(parent.path("fields").path("issuetype").path("name").asText(null))) {
+            return getFieldText(parent, "key");
+        }
+        return null;
+    }
+    
+    private String parseSprint(JsonNode fields) {
+        // 배열이면 마지막(현재) 스프린트. Jira Server는 "...[id=1,name=Sprint 1,...]" 형식의 문자열을 반환
+        JsonNode sprint = fields.get("sprint");
+        if (sprint != null && sprint.isArray()) {
+            sprint = sprint.size() > 0 ? sprint.get(sprint.size() - 1) : null;
+        }
+        if (sprint == null || sprint.isNull()) {
+            return null;
+        }
+        if (sprint.isObject()) {
+            return getFieldText(sprint, "name");
+        }
+        String text = sprint.asText();
+        int nameStart = text.indexOf("name=");
+        if (nameStart >= 0) {
+            int nameEnd = text.indexOf(',', nameStart);
+            return text.substring(nameStart + 5, nameEnd >= 0 ? nameEnd : text.length());
+        }
+        return text;
+    }
+    
+    private List<String> parseFixVersions(JsonNode fields) {
+        JsonNode versions = fields.get("fixVersions");
+        List<String> names = new ArrayList<>();
+        if (versions != null && versions.isArray()) {
+            for (JsonNode version : versions) {
+                String name = getFieldText(version, "name");
+                if (name != null) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+    
     private String getCustomFieldValue(JsonNode fields, String customFieldName) {
         JsonNode customField = fields.get(customFieldName);
         if (customField == null || customField.isNull()) {
@@ -328,6 +546,10 @@ public class JiraService {
         }
     }
     
+    private static long toEpochSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : TaskTable.NO_DATE;
+    }
+    
     private Integer parseTimeTracking(JsonNode timeTracking, String field) {
         if (timeTracking == null || timeTracking.isNull()) {
             return null;
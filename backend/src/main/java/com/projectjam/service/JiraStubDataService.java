@@ -0,0 +1,201 @@
+package com.projectjam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 로컬 부하 테스트용 합성 Jira 데이터 생성기.
+ *
+ * 이슈는 (seed, 프로젝트 키, 이슈 번호)로부터 결정적으로 생성되므로
+ * 5만 건짜리 프로젝트도 메모리에 올리지 않고 요청된 페이지만 만들어 낸다.
+ */
+@Slf4j
+@Service
+@Profile("jira-stub")
+public class JiraStubDataService {
+
+    private static final String[] STATUSES = {"To Do", "In Progress", "In Review", "Done"};
+    private static final String[] PRIORITIES = {"Highest", "High", "Medium", "Medium", "Medium", "Low", "Lowest"};
+    private static final String[] ISSUE_TYPES = {"Story", "Story", "Task", "Task", "Bug", "Sub-task"};
+    private static final DateTimeFormatter JIRA_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'+0900'");
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+    // "KEY:이슈수" 목록 (예: STUB:1000,LARGE:50000)
+    @Value("${jira.stub.projects:STUB:1000}")
+    private String projectsSpec;
+
+    @Value("${jira.stub.seed:42}")
+    private long seed;
+
+    @Value("${jira.stub.assignees:25}")
+    private int assigneeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Map<String, Integer> getProjects() {
+        Map<String, Integer> projects = new LinkedHashMap<>();
+        for (String entry : projectsSpec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length == 2) {
+                projects.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return projects;
+    }
+
+    public ArrayNode generateProjects() {
+        ArrayNode projects = objectMapper.createArrayNode();
+        int id = 10000;
+        for (Map.Entry<String, Integer> entry : getProjects().entrySet()) {
+            ObjectNode project = projects.addObject();
+            project.put("id", String.valueOf(id++));
+            project.put("key", entry.getKey());
+            project.put("name", "Synthetic project " + entry.getKey() + " (" + entry.getValue() + " issues)");
+        }
+        return projects;
+    }
+
+    /**
+     * statusFilter를 만족하는 이슈 중 [startAt, startAt + maxResults) 페이지.
+     * 상태는 이슈별 난수의 첫 값으로 정해지므로 필터링을 위해 이슈 본문을 만들 필요는 없다.
+     */
+    public ObjectNode generateSearchPage(String projectKey, Predicate<String> statusFilter, Set<String> fields, int startAt, int maxResults) {
+        int projectSize = getProjects().getOrDefault(projectKey, 0);
+        int total = 0;
+        ObjectNode page = objectMapper.createObjectNode();
+        ArrayNode issues = objectMapper.createArrayNode();
+        for (int i = 0; i < projectSize; i++) {
+            if (!statusFilter.test(STATUSES[statusIndex(projectKey, i)])) {
+                continue;
+            }
+            if (total >= startAt && issues.size() < maxResults) {
+                issues.add(generateIssue(projectKey, i, projectSize, fields));
+            }
+            total++;
+        }
+
+        page.put("startAt", Math.max(0, Math.min(startAt, total)));
+        page.put("maxResults", maxResults);
+        page.put("total", total);
+        page.set("issues", issues);
+        return page;
+    }
+
+    /**
+     * Jira 상태 카테고리 이름 (To Do / In Progress / Done).
+     */
+    public static String statusCategory(String status) {
+        return switch (status) {
+            case "To Do" -> "To Do";
+            case "Done" -> "Done";
+            default -> "In Progress";
+        };
+    }
+
+    private SplittableRandom issueRandom(String projectKey, int index) {
+        return new SplittableRandom(seed * 31 + projectKey.hashCode() * 1_000_003L + index);
+    }
+
+    private int statusIndex(String projectKey, int index) {
+        return issueRandom(projectKey, index).nextInt(STATUSES.length);
+    }
+
+    private ObjectNode generateIssue(String projectKey, int index, int total, Set<String> fields) {
+        SplittableRandom random = issueRandom(projectKey, index);
+        int number = total - index; // "ORDER BY created DESC"
+        String status = STATUSES[random.nextInt(STATUSES.length)];
+
+        ObjectNode issue = objectMapper.createObjectNode();
+        issue.put("id", String.valueOf(100000 + number));
+        issue.put("key", projectKey + "-" + number);
+
+        ObjectNode all = objectMapper.createObjectNode();
+        all.put("summary", "Synthetic issue " + number);
+        all.put("description", "Generated description for " + projectKey + "-" + number + ". " + "Lorem ipsum dolor sit amet. ".repeat(1 + random.nextInt(8)));
+        all.putObject("status").put("name", status);
+        all.putObject("priority").put("name", PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        all.putObject("issuetype").put("name", ISSUE_TYPES[random.nextInt(ISSUE_TYPES.length)]);
+
+        if (random.nextDouble() < 0.85) {
+            all.putObject("assignee").put("name", "user" + random.nextInt(assigneeCount));
+        } else {
+            all.putNull("assignee");
+        }
+
+        LocalDateTime created = BASE_DATE.plusHours(number % 5000);
+        all.put("created", created.format(JIRA_DATE_FORMAT));
+        LocalDateTime updated = created.plusHours(random.nextInt(240));
+        all.put("updated", updated.format(JIRA_DATE_FORMAT));
+        if ("Done".equals(status)) {
+            all.put("resolutiondate", updated.format(JIRA_DATE_FORMAT));
+        } else {
+            all.putNull("resolutiondate");
+        }
+        all.put("duedate", created.plusDays(14 + random.nextInt(30)).toLocalDate().toString());
+
+        // 추정치는 로그정규 형태로 분포 (대부분 수 시간 ~ 수 일, 일부 큰 태스크)
+        if (random.nextDouble() < 0.9) {
+            int originalEstimate = (int) Math.round(3600 * Math.exp(1.5 + 0.9 * random.nextGaussian()));
+            ObjectNode timeTracking = all.putObject("timetracking");
+            timeTracking.put("originalEstimateSeconds", originalEstimate);
+            int timeSpent = (int) (originalEstimate * random.nextDouble() * 1.2);
+            timeTracking.put("timeSpentSeconds", timeSpent);
+            timeTracking.put("remainingEstimateSeconds", Math.max(0, originalEstimate - timeSpent));
+        } else {
+            all.putObject("timetracking");
+        }
+
+        // 일부 이슈는 시작일/종료일 커스텀 필드 사용
+        if (random.nextDouble() < 0.4) {
+            LocalDateTime start = created.plusDays(random.nextInt(10));
+            all.put("customfield_10332", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            all.put("customfield_10333", start.plusHours(4 + random.nextInt(80)).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else {
+            all.putNull("customfield_10332");
+            all.putNull("customfield_10333");
+        }
+
+        all.putObject("epic").put("key", projectKey + "-E" + (number % 40));
+        all.putArray("sprint").addObject().put("name", "Sprint " + (1 + number % 26));
+        all.putArray("fixVersions").addObject().put("name", "v" + (1 + number % 6) + ".0");
+
+        // 앞선 이슈로의 선후행 링크
+        ArrayNode links = all.putArray("issuelinks");
+        int linkCount = random.nextInt(3);
+        for (int l = 0; l < linkCount && number > 1; l++) {
+            ObjectNode link = links.addObject();
+            link.putObject("type").put("name", "Blocks");
+            link.putObject("inwardIssue").put("key", projectKey + "-" + (1 + random.nextInt(number - 1)));
+        }
+
+        ObjectNode selected = issue.putObject("fields");
+        all.fieldNames().forEachRemaining(name -> {
+            if (fields.isEmpty() || fields.contains(name)) {
+                selected.set(name, all.get(name));
+            }
+        });
+        return issue;
+    }
+
+    public static Set<String> parseFields(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(fieldsParam.split(",")).map(String::trim).collect(Collectors.toSet());
+    }
+}
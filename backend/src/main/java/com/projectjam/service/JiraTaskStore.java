@@ -0,0 +1,250 @@
+package com.projectjam.service;
+
+import com.projectjam.model.JiraTask;
+import com.projectjam.model.TaskTable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프로젝트별 태스크를 JiraTask.key 기준으로 메모리에 유지하는 저장소.
+ *
+ * 처음 조회할 때 Jira에서 전체를 적재하고, 이후에는 웹훅 이벤트로 변경분만 반영한다.
+ * 웹훅 비밀값(jira.webhook.secret)이 없으면 이벤트를 받을 수 없으므로 저장소를 끄고 매번 Jira를 직접 조회한다.
+ * 놓친 이벤트가 영구히 남지 않도록 resync-minutes가 지나면 다음 조회 시 전체를 다시 적재한다.
+ * 적재되지 않은 프로젝트의 이벤트는 무시한다 (다음 적재 시 최신 상태를 가져오므로).
+ *
+ * Jira 조회는 프로젝트 잠금 밖에서 하고 결과만 잠금 안에서 교체하므로, 적재 중에도 웹훅 반영이 막히지 않는다.
+ * 적재 중에 반영된 이벤트는 따로 모아 두었다가 새로 가져온 태스크에 다시 적용한다.
+ * 삭제된 이슈는 삭제 시각을 tombstone으로 resync-minutes 동안 남겨, 그보다 이전 시각의 수정 이벤트가 늦게 도착해도 되살리지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JiraTaskStore {
+
+    // getProjectTasks JQL과 같은 조건 (status != Closed)
+    private static final String EXCLUDED_STATUS = "Closed";
+
+    private final JiraService jiraService;
+
+    @Value("${jira.task-store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jira.task-store.resync-minutes:60}")
+    private long resyncMinutes;
+
+    @Value("${jira.webhook.secret:}")
+    private String webhookSecret;
+
+    private final Map<String, ProjectTasks> projects = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void checkWebhook() {
+        // 웹훅 없이 저장소를 쓰면 resync-minutes 동안 바뀐 태스크를 반영하지 못함
+        if (enabled && webhookSecret.isEmpty()) {
+            enabled = false;
+            log.info("jira.webhook.secret is not set: task store disabled, tasks are read from Jira on every request");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TaskTable getTaskTable(String projectKey) {
+        if (!enabled) {
+            return jiraService.getProjectTaskTable(projectKey, false);
+        }
+
+        ProjectTasks project = load(projectKey);
+        synchronized (project) {
+            if (project.table == null) {
+                project.table = TaskTable.from(new ArrayList<>(project.tasks.values()));
+            }
+            return project.table;
+        }
+    }
+
+    public List<JiraTask> getTasks(String projectKey) {
+        if (!enabled) {
+            return jiraService.getProjectTasks(projectKey);
+        }
+
+        ProjectTasks project = load(projectKey);
+        synchronized (project) {
+            return new ArrayList<>(project.tasks.values());
+        }
+    }
+
+    /**
+     * 프로젝트 단위로 묶인 변경분을 한 번에 반영한다. 태스크 구성이 실제로 바뀌었으면 true.
+     * eventTimestamps는 이슈 키 → 웹훅 이벤트 시각(epoch 밀리초)이며 삭제 tombstone과 비교하는 데 쓴다.
+     */
+    public boolean apply(String projectKey, Collection<JiraTask> upserts, Collection<String> deletedKeys,
+                         Map<String, Long> eventTimestamps) {
+        ProjectTasks project = projects.get(projectKey);
+        if (project == null) {
+            return false;
+        }
+
+        synchronized (project) {
+            if (project.loading) {
+                project.appliedDuringLoad.add(new Changes(upserts, deletedKeys, eventTimestamps));
+            }
+            pruneTombstones(project);
+            boolean changed = applyTo(project, upserts, deletedKeys, eventTimestamps);
+            if (changed) {
+                project.table = null;
+                project.version++;
+            }
+            return changed;
+        }
+    }
+
+    private boolean applyTo(ProjectTasks project, Collection<JiraTask> upserts, Collection<String> deletedKeys,
+                            Map<String, Long> eventTimestamps) {
+        boolean changed = false;
+        for (JiraTask task : upserts) {
+            // 삭제 이후에 발생한 이벤트가 아니면 삭제된 이슈를 되살리지 않음
+            Long deletedAt = project.tombstones.get(task.getKey());
+            long timestamp = eventTimestamps.getOrDefault(task.getKey(), Long.MAX_VALUE);
+            if (deletedAt != null && timestamp <= deletedAt) {
+                continue;
+            }
+            // 이미 더 최신 상태가 반영된 이슈면 늦게 도착한 이벤트는 무시
+            JiraTask existing = project.tasks.get(task.getKey());
+            if (existing != null && existing.getUpdated() != null && task.getUpdated() != null
+                    && existing.getUpdated().isAfter(task.getUpdated())) {
+                continue;
+            }
+            project.tombstones.remove(task.getKey());
+            if (EXCLUDED_STATUS.equals(task.getStatus())) {
+                changed |= project.tasks.remove(task.getKey()) != null;
+            } else {
+                changed |= !task.equals(project.tasks.put(task.getKey(), task));
+            }
+        }
+        for (String key : deletedKeys) {
+            long deletedAt = eventTimestamps.getOrDefault(key, System.currentTimeMillis());
+            project.tombstones.merge(key, deletedAt, Math::max);
+            changed |= project.tasks.remove(key) != null;
+        }
+        return changed;
+    }
+
+    private void pruneTombstones(ProjectTasks project) {
+        long expiry = System.currentTimeMillis() - resyncMinutes * 60_000;
+        project.tombstones.values().removeIf(deletedAt -> deletedAt < expiry);
+    }
+
+    public long getVersion(String projectKey) {
+        ProjectTasks project = projects.get(projectKey);
+        if (project == null) {
+            return 0;
+        }
+        synchronized (project) {
+            return project.version;
+        }
+    }
+
+    public void evict(String projectKey) {
+        projects.remove(projectKey);
+    }
+
+    private ProjectTasks load(String projectKey) {
+        ProjectTasks project = projects.computeIfAbsent(projectKey, key -> new ProjectTasks());
+        LocalDateTime now;
+        synchronized (project) {
+            while (true) {
+                now = LocalDateTime.now();
+                if (project.loadedAt != null && !project.loadedAt.plusMinutes(resyncMinutes).isBefore(now)) {
+                    return project;
+                }
+                if (!project.loading) {
+                    project.loading = true;
+                    project.appliedDuringLoad.clear();
+                    break;
+                }
+                // 다른 스레드가 재적재 중이면 기존 태스크를 사용하고, 첫 적재면 끝날 때까지 대기 (wait는 모니터를 놓음)
+                if (project.loadedAt != null) {
+                    return project;
+                }
+                try {
+                    project.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for task store load of " + projectKey, e);
+                }
+            }
+        }
+
+        // Jira 조회는 잠금 밖에서 수행
+        List<JiraTask> fetched;
+        try {
+            fetched = jiraService.getProjectTasks(projectKey);
+        } catch (RuntimeException e) {
+            synchronized (project) {
+                project.loading = false;
+                project.notifyAll();
+            }
+            throw e;
+        }
+
+        synchronized (project) {
+            // Jira 조회 순서(생성일 내림차순)를 유지해 TaskTable 행 순서가 직접 조회와 같도록 함
+            Map<String, JiraTask> tasks = new LinkedHashMap<>();
+            for (JiraTask task : fetched) {
+                if (!project.tombstones.containsKey(task.getKey())) {
+                    tasks.put(task.getKey(), task);
+                }
+            }
+            project.tasks = tasks;
+            // 조회하는 동안 반영된 이벤트는 조회 결과에 빠져 있을 수 있으므로 다시 적용
+            for (Changes changes : project.appliedDuringLoad) {
+                applyTo(project, changes.upserts, changes.deletedKeys, changes.eventTimestamps);
+            }
+            project.appliedDuringLoad.clear();
+            project.table = null;
+            project.loadedAt = now;
+            project.version++;
+            project.loading = false;
+            project.notifyAll();
+            log.info("Loaded {} tasks for project {} into task store", tasks.size(), projectKey);
+            return project;
+        }
+    }
+
+    private static final class ProjectTasks {
+        private Map<String, JiraTask> tasks = new LinkedHashMap<>();
+        private TaskTable table; // 변경 시 무효화되는 시뮬레이션용 테이블
+        private LocalDateTime loadedAt;
+        private long version;
+        private boolean loading;
+        private final List<Changes> appliedDuringLoad = new ArrayList<>();
+        private final Map<String, Long> tombstones = new HashMap<>(); // 삭제된 이슈 키 → 삭제 시각 (epoch 밀리초)
+    }
+
+    private static final class Changes {
+        private final Collection<JiraTask> upserts;
+        private final Collection<String> deletedKeys;
+        private final Map<String, Long> eventTimestamps;
+
+        private Changes(Collection<JiraTask> upserts, Collection<String> deletedKeys, Map<String, Long> eventTimestamps) {
+            this.upserts = upserts;
+            this.deletedKeys = deletedKeys;
+            this.eventTimestamps = eventTimestamps;
+        }
+    }
+}
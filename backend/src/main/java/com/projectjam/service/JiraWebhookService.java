@@ -0,0 +1,158 @@
+package com.projectjam.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.projectjam.model.JiraTask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jira 이슈 웹훅(jira:issue_created/updated/deleted)을 모아 태스크 저장소에 반영한다.
+ *
+ * 이벤트는 이슈 키별로 가장 최신 것 하나만 남기고(coalescing), batch-window-ms마다 또는 대기 이벤트가
+ * max-batch-size에 도달하면 프로젝트 단위로 한 번에 적용한다. 태스크 구성이 바뀐 프로젝트는
+ * 보관 실행을 stale로 표시한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JiraWebhookService {
+
+    public static final String ISSUE_CREATED = "jira:issue_created";
+    public static final String ISSUE_UPDATED = "jira:issue_updated";
+    public static final String ISSUE_DELETED = "jira:issue_deleted";
+
+    private final JiraService jiraService;
+    private final JiraTaskStore jiraTaskStore;
+    private final RetainedRunService retainedRunService;
+
+    @Value("${jira.webhook.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object(); // 배치를 꺼낸 순서대로 적용
+    private Map<String, PendingEvent> pending = new LinkedHashMap<>(); // 이슈 키 → 최신 이벤트
+    private long receivedCount;
+    private long coalescedCount;
+
+    /**
+     * 웹훅 페이로드 하나를 대기열에 넣는다. 처리 대상이 아닌 이벤트면 false.
+     */
+    public boolean accept(JsonNode payload) {
+        String eventType = payload.path("webhookEvent").asText(null);
+        JsonNode issue = payload.get("issue");
+        if (issue == null || issue.get("key") == null
+                || !(ISSUE_CREATED.equals(eventType) || ISSUE_UPDATED.equals(eventType) || ISSUE_DELETED.equals(eventType))) {
+            return false;
+        }
+
+        String issueKey = issue.get("key").asText();
+        String projectKey = issue.path("fields").path("project").path("key").asText(null);
+        if (projectKey == null) {
+            projectKey = issueKey.contains("-") ? issueKey.substring(0, issueKey.lastIndexOf('-')) : issueKey;
+        }
+
+        JiraTask task = null;
+        if (!ISSUE_DELETED.equals(eventType)) {
+            task = jiraService.convertToJiraTask(issue);
+            if (task == null) {
+                return false;
+            }
+        }
+
+        long timestamp = payload.path("timestamp").asLong(System.currentTimeMillis());
+        PendingEvent event = new PendingEvent(projectKey, issueKey, task, timestamp);
+
+        boolean flushNow;
+        synchronized (lock) {
+            receivedCount++;
+            PendingEvent previous = pending.get(issueKey);
+            // 웹훅은 순서가 보장되지 않으므로 이슈별로 타임스탬프가 가장 늦은 이벤트만 유지
+            if (previous == null || previous.timestamp <= timestamp) {
+                pending.put(issueKey, event);
+            }
+            if (previous != null) {
+                coalescedCount++;
+            }
+            flushNow = pending.size() >= maxBatchSize;
+        }
+
+        if (flushNow) {
+            flush();
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${jira.webhook.batch-window-ms:200}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, PendingEvent> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            applyBatch(batch);
+        }
+    }
+
+    private void applyBatch(Map<String, PendingEvent> batch) {
+        // 프로젝트별로 묶어 저장소 잠금을 한 번만 잡음
+        Map<String, List<JiraTask>> upserts = new HashMap<>();
+        Map<String, List<String>> deletes = new HashMap<>();
+        Map<String, Map<String, Long>> timestamps = new HashMap<>();
+        for (PendingEvent event : batch.values()) {
+            timestamps.computeIfAbsent(event.projectKey, key -> new HashMap<>()).put(event.issueKey, event.timestamp);
+            if (event.task != null) {
+                upserts.computeIfAbsent(event.projectKey, key -> new ArrayList<>()).add(event.task);
+            } else {
+                deletes.computeIfAbsent(event.projectKey, key -> new ArrayList<>()).add(event.issueKey);
+            }
+        }
+
+        List<String> projectKeys = new ArrayList<>(upserts.keySet());
+        deletes.keySet().stream().filter(key -> !upserts.containsKey(key)).forEach(projectKeys::add);
+        for (String projectKey : projectKeys) {
+            boolean changed = jiraTaskStore.apply(projectKey, upserts.getOrDefault(projectKey, List.of()),
+                    deletes.getOrDefault(projectKey, List.of()), timestamps.get(projectKey));
+            if (changed) {
+                retainedRunService.markStale(projectKey);
+            }
+        }
+        log.debug("Applied {} coalesced webhook events across {} projects", batch.size(), projectKeys.size());
+    }
+
+    public Map<String, Long> getStatistics() {
+        synchronized (lock) {
+            Map<String, Long> statistics = new LinkedHashMap<>();
+            statistics.put("received", receivedCount);
+            statistics.put("coalesced", coalescedCount);
+            statistics.put("pending", (long) pending.size());
+            return statistics;
+        }
+    }
+
+    private static final class PendingEvent {
+        private final String projectKey;
+        private final String issueKey;
+        private final JiraTask task; // 삭제 이벤트면 null
+        private final long timestamp;
+
+        private PendingEvent(String projectKey, String issueKey, JiraTask task, long timestamp) {
+            this.projectKey = projectKey;
+            this.issueKey = issueKey;
+            this.task = task;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.projectjam.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 메모리 매핑 파일에 저장되는 [태스크][반복] 샘플 행렬과 반복별 프로젝트 총합.
+ *
+ * 태스크 컬럼은 연속 배치되며 파일 하나에 최대 1GiB 분량의 컬럼을 묶어 samples-NNNN.bin으로 나눈다.
+ * 파일은 처음 접근할 때 전체를 한 번만 매핑하고, mapColumn/mapTotals는 그 매핑의 구간 뷰를 돌려준다.
+ * 따라서 실행 하나의 매핑 수는 샘플 파일 수 + 1로 고정되며 태스크나 반복 구간 수에 따라 늘지 않는다
+ * (JDK에는 명시적 해제 API가 없어 매핑은 행렬이 수거될 때 해제된다).
+ * 호출자는 MonteCarloService.WINDOW_ITERATIONS 단위 구간으로 나눠 접근하므로 힙에 복사되는 양은 반복 횟수와 무관하다.
+ */
+public final class MappedSampleMatrix implements Closeable {
+
+    private static final long MAX_FILE_BYTES = 1L << 30;
+    private static final String TOTALS_FILE = "totals.bin";
+
+    private final int iterations;
+    private final int tasksPerFile;
+    private final int[] tasksInFile;
+    private final boolean writable;
+    private final FileChannel[] sampleChannels;
+    private final FileChannel totalsChannel;
+    private final DoubleBuffer[] sampleMappings;
+    private DoubleBuffer totalsMapping;
+
+    private MappedSampleMatrix(Path dir, int taskCount, int iterations, boolean create) throws IOException {
+        this.iterations = iterations;
+        this.writable = create;
+
+        long columnBytes = (long) iterations * Double.BYTES;
+        this.tasksPerFile = (int) Math.max(1, Math.min(taskCount, MAX_FILE_BYTES / columnBytes));
+
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[] {StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ};
+
+        int fileCount = taskCount == 0 ? 0 : (taskCount + tasksPerFile - 1) / tasksPerFile;
+        this.sampleChannels = new FileChannel[fileCount];
+        this.sampleMappings = new DoubleBuffer[fileCount];
+        this.tasksInFile = new int[fileCount];
+        for (int f = 0; f < fileCount; f++) {
+            sampleChannels[f] = FileChannel.open(dir.resolve(String.format("samples-%04d.bin", f)), options);
+            tasksInFile[f] = Math.min(tasksPerFile, taskCount - f * tasksPerFile);
+        }
+        this.totalsChannel = FileChannel.open(dir.resolve(TOTALS_FILE), options);
+    }
+
+    public static MappedSampleMatrix create(Path dir, int taskCount, int iterations) throws IOException {
+        return new MappedSampleMatrix(dir, taskCount, iterations, true);
+    }
+
+    public static MappedSampleMatrix open(Path dir, int taskCount, int iterations) throws IOException {
+        return new MappedSampleMatrix(dir, taskCount, iterations, false);
+    }
+
+    public static long requiredBytes(int taskCount, int iterations) {
+        return ((long) taskCount + 1) * iterations * Double.BYTES;
+    }
+
+    public DoubleBuffer mapColumn(int task, int fromIteration, int count) throws IOException {
+        int file = task / tasksPerFile;
+        if (sampleMappings[file] == null) {
+            sampleMappings[file] = map(sampleChannels[file], (long) tasksInFile[file] * iterations);
+        }
+        return sampleMappings[file].slice((task % tasksPerFile) * iterations + fromIteration, count);
+    }
+
+    public DoubleBuffer mapTotals(int fromIteration, int count) throws IOException {
+        if (totalsMapping == null) {
+            totalsMapping = map(totalsChannel, iterations);
+        }
+        return totalsMapping.slice(fromIteration, count);
+    }
+
+    private DoubleBuffer map(FileChannel channel, long doubles) throws IOException {
+        // READ_WRITE 매핑은 필요 시 파일을 늘리며, 새 영역은 0으로 채워진다
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        return channel.map(mode, 0, doubles * Double.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (FileChannel channel : sampleChannels) {
+            try {
+                if (writable) {
+                    channel.force(false);
+                }
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (writable) {
+            totalsChannel.force(false);
+        }
+        totalsChannel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
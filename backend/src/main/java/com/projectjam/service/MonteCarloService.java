@@ -1,222 +1,716 @@
 package com.projectjam.service;
 
 import com.projectjam.model.JiraTask;
+import com.projectjam.model.ShardPartial;
 import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskGrouping;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import com.projectjam.service.duration.TaskDistribution;
+import com.projectjam.service.duration.TriangularDurationModel;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.math3.distribution.NormalDistribution;
-import org.apache.commons.math3.distribution.TriangularDistribution;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 public class MonteCarloService {
     
     private static final int DEFAULT_SIMULATIONS = 10000;
-    private static final Random random = new Random();
+    
+    // 샘플은 BLOCK_SIZE 반복 단위로 독립 시드를 사용해 생성하므로 저장 방식과 무관하게 재현 가능
+    public static final int BLOCK_SIZE = 8192;
+    // 분산 실행의 부분 통계 단위. 노드 수와 무관하게 같은 청크 순서로 병합하므로 결과가 같다
+    public static final int SHARD_CHUNK_ITERATIONS = BLOCK_SIZE * 8;
+    // off-heap 실행에서 샘플 파일을 한 번에 읽고 쓰는 반복 구간 (BLOCK_SIZE의 배수, 8MiB)
+    static final int WINDOW_ITERATIONS = BLOCK_SIZE * 128;
+    private static final int MAX_DISTRIBUTION_POINTS = 10000;
+    private static final double[] REPORTED_PERCENTILES = {50, 80, 90};
+    private static final DurationModel DEFAULT_MODEL = new TriangularDurationModel();
+    private static final int DEFAULT_CORRELATION_MAX_TASKS = 50;
+    
+    // 상관관계 쌍 수는 태스크 수²로 늘어나므로 표준편차가 큰 상위 태스크만 계산 (0이면 계산하지 않음)
+    @Value("${simulation.correlations.max-tasks:50}")
+    private int correlationMaxTasks = DEFAULT_CORRELATION_MAX_TASKS;
     
     public SimulationResult runSimulation(List<JiraTask> tasks, int numSimulations) {
+        return runSimulation(TaskTable.from(tasks), numSimulations);
+    }
+    
+    public SimulationResult runSimulation(TaskTable table, int numSimulations) {
+        return runSimulation(table, numSimulations, null);
+    }
+    
+    public SimulationResult runSimulation(TaskTable table, int numSimulations, DurationModel model) {
+        return runSimulation(table, numSimulations, model, newSeed());
+    }
+    
+    public SimulationResult runSimulation(TaskTable table, int numSimulations, DurationModel model, long seed) {
+        return runSimulation(table, numSimulations, model, seed, List.of());
+    }
+    
+    /**
+     * groupings가 있으면 샘플링과 같은 패스에서 기준별 그룹 합계를 누적해 groupRollups를 채운다.
+     */
+    public SimulationResult runSimulation(TaskTable table, int numSimulations, DurationModel model, long seed,
+                                          List<TaskGrouping> groupings) {
         if (numSimulations <= 0) {
             numSimulations = DEFAULT_SIMULATIONS;
         }
         
-
+        int taskCount = table.size();
+        double[] estimatedDurations = table.getEstimatedDurationsHours();
+        TaskDistribution[] distributions = prepareDistributions(table, estimatedDurations, model);
+        
+        // 태스크별 샘플 컬럼 [태스크][반복]과 반복별 프로젝트 총 기간
+        double[][] taskDurations = new double[taskCount][];
+        double[] projectDurations = new double[numSimulations];
+        GroupRollups rollups = groupings.isEmpty() ? null : new GroupRollups(table, groupings, estimatedDurations, numSimulations);
+        
+        // Monte Carlo 시뮬레이션 실행 (태스크 단위로 샘플 컬럼을 채움)
+        for (int t = 0; t < taskCount; t++) {
+            double[] samples = new double[numSimulations];
+            sampleTask(distributions[t], taskSeed(seed, table.getKey(t)), 0, samples, 0, numSimulations);
+            for (int i = 0; i < numSimulations; i++) {
+                projectDurations[i] += samples[i];
+            }
+            if (rollups != null) {
+                rollups.add(t, samples);
+            }
+            taskDurations[t] = samples;
+        }
         
-        List<Double> projectDurations = new ArrayList<>();
-        Map<String, List<Double>> taskDurations = new HashMap<>();
+        // 통계 분석
+        ProjectStatistics projectStats = ProjectStatistics.of(new DescriptiveStatistics(projectDurations));
         
-        // 각 태스크별 시뮬레이션 결과 초기화
-        for (JiraTask task : tasks) {
-            taskDurations.put(task.getKey(), new ArrayList<>());
+        // 태스크별 평균/표준편차/기한 내 완료 횟수는 한 번만 계산해 이후 분석에서 재사용
+        double[] taskMeans = new double[taskCount];
+        double[] taskStdDevs = new double[taskCount];
+        int[] onTimeCounts = new int[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            taskMeans[t] = mean(taskDurations[t]);
+            taskStdDevs[t] = standardDeviation(taskDurations[t], taskMeans[t]);
+            for (double d : taskDurations[t]) {
+                if (d <= estimatedDurations[t]) {
+                    onTimeCounts[t]++;
+                }
+            }
         }
         
-        // Monte Carlo 시뮬레이션 실행
-        for (int i = 0; i < numSimulations; i++) {
-            double totalDuration = 0;
+        // 태스크별 상관관계 계산 (변동성이 큰 상위 태스크끼리만)
+        Map<String, Map<String, Double>> taskCorrelations = calculateTaskCorrelations(table, taskDurations,
+                selectCorrelatedTasks(taskStdDevs));
+        
+        SimulationResult result = buildResult(table, numSimulations, seed, modelName(model), projectStats, taskMeans, taskStdDevs,
+                onTimeCounts, estimatedDurations, Arrays.stream(projectDurations).boxed().collect(Collectors.toList()), taskCorrelations);
+        if (rollups != null) {
+            result.setGroupRollups(rollups.summarize());
+        }
+        return result;
+    }
+    
+    /**
+     * 태스크 taskCount개 실행에서 상관관계를 계산할 태스크 수. 수용 제어 비용 추정에 사용한다.
+     */
+    public int correlatedTaskCount(int taskCount) {
+        return Math.min(taskCount, Math.max(0, correlationMaxTasks));
+    }
+    
+    /**
+     * 그룹 집계에 필요한 반복 합계 배열 수 (기준별 그룹 수 + 값 없음 그룹).
+     */
+    public static int groupRollupCount(TaskTable table, List<TaskGrouping> groupings) {
+        return GroupRollups.groupCount(table, groupings);
+    }
+    
+    /**
+     * 보관 실행을 주어진 태스크 구성으로 갱신할 때 다시 샘플링할 컬럼 수 (분포가 바뀌었거나 새로 추가된 태스크).
+     * 수용 제어 비용 추정용이며, 그 사이 다른 갱신이 끝나면 실제 수와 다를 수 있다.
+     */
+    public int countChangedColumns(RetainedRun run, TaskTable table, DurationModel model) {
+        TaskDistribution[] distributions = prepareDistributions(table, table.getEstimatedDurationsHours(), model);
+        Map<String, RetainedRun.Column> columns = run.columns;
+        int changed = 0;
+        for (int t = 0; t < table.size(); t++) {
+            RetainedRun.Column column = columns.get(table.getKey(t));
+            if (column == null || !distributions[t].equals(column.distribution)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * 보관 실행을 주어진 태스크 구성으로 갱신한다.
+     * 분포 파라미터가 바뀌었거나 새로 추가된 태스크만 같은 시드로 다시 샘플링하고, 총합은 이전 컬럼을 빼고
+     * 새 컬럼을 더하는 델타로 갱신한다. 처음 호출하면 모든 태스크를 샘플링하는 전체 실행과 같다.
+     */
+    public SimulationResult simulateRetained(RetainedRun run, TaskTable table, DurationModel model) {
+        synchronized (run) {
+            int numSimulations = run.getIterations();
+            int taskCount = table.size();
+            double[] estimatedDurations = table.getEstimatedDurationsHours();
+            TaskDistribution[] distributions = prepareDistributions(table, estimatedDurations, model);
+            // 공개된 총합 배열과 컬럼 맵은 잠금 없이 읽히므로 수정하지 않고 복사본을 갱신한 뒤 교체
+            double[] totals = run.totals.clone();
+            boolean initial = run.columns.isEmpty();
+            
+            Map<String, RetainedRun.Column> previous = run.columns;
+            Map<String, RetainedRun.Column> removedColumns = new HashMap<>(previous);
+            Map<String, RetainedRun.Column> columns = new HashMap<>(taskCount * 2);
+            List<String> regenerated = new ArrayList<>();
+            for (int t = 0; t < taskCount; t++) {
+                String key = table.getKey(t);
+                RetainedRun.Column old = previous.get(key);
+                removedColumns.remove(key);
+                if (old != null && distributions[t].equals(old.distribution)) {
+                    columns.put(key, old);
+                    continue;
+                }
+                
+                double[] samples = new double[numSimulations];
+                sampleTask(distributions[t], taskSeed(run.getSeed(), key), 0, samples, 0, numSimulations);
+                double[] oldSamples = old != null ? old.samples : null;
+                for (int i = 0; i < numSimulations; i++) {
+                    totals[i] += oldSamples != null ? samples[i] - oldSamples[i] : samples[i];
+                }
+                columns.put(key, retainColumn(distributions[t], samples, estimatedDurations[t]));
+                regenerated.add(key);
+            }
             
-            for (JiraTask task : tasks) {
-                double taskDuration = simulateTaskDuration(task);
-                taskDurations.get(task.getKey()).add(taskDuration);
-                totalDuration += taskDuration;
+            // 조회 결과에서 빠진 태스크(완료/삭제)는 총합에서 제외
+            for (RetainedRun.Column removed : removedColumns.values()) {
+                double[] samples = removed.samples;
+                for (int i = 0; i < numSimulations; i++) {
+                    totals[i] -= samples[i];
+                }
+            }
+            
+            // 델타 갱신이 누적되면 반올림 오차가 쌓이므로 태스크 수만큼 다시 샘플링할 때마다 총합을 새로 계산
+            run.regeneratedSinceRebuild = initial ? 0 : run.regeneratedSinceRebuild + regenerated.size() + removedColumns.size();
+            if (run.regeneratedSinceRebuild >= Math.max(1, taskCount)) {
+                Arrays.fill(totals, 0);
+                for (RetainedRun.Column column : columns.values()) {
+                    for (int i = 0; i < numSimulations; i++) {
+                        totals[i] += column.samples[i];
+                    }
+                }
+                run.regeneratedSinceRebuild = 0;
             }
+            run.columns = columns;
+            run.totals = totals;
             
-            projectDurations.add(totalDuration);
+            double[] taskMeans = new double[taskCount];
+            double[] taskStdDevs = new double[taskCount];
+            int[] onTimeCounts = new int[taskCount];
+            double[][] taskDurations = new double[taskCount][];
+            for (int t = 0; t < taskCount; t++) {
+                RetainedRun.Column column = columns.get(table.getKey(t));
+                taskDurations[t] = column.samples;
+                taskMeans[t] = column.mean;
+                taskStdDevs[t] = column.standardDeviation;
+                onTimeCounts[t] = column.onTimeCount;
+            }
+            
+            // 상관관계 대상(표준편차 상위 태스크)이 그대로면 다시 샘플링한 태스크가 포함된 쌍만 갱신하고,
+            // 태스크가 빠지거나 순위가 바뀌어 대상이 달라지면 새 대상으로 다시 계산
+            int[] correlated = selectCorrelatedTasks(taskStdDevs);
+            List<String> correlatedKeys = new ArrayList<>(correlated.length);
+            for (int t : correlated) {
+                correlatedKeys.add(table.getKey(t));
+            }
+            Map<String, Map<String, Double>> correlations;
+            if (run.correlations.keySet().equals(new HashSet<>(correlatedKeys))) {
+                correlations = copyCorrelations(run.correlations);
+                updateTaskCorrelations(columns, correlatedKeys, regenerated, correlations);
+            } else {
+                correlations = calculateTaskCorrelations(table, taskDurations, correlated);
+            }
+            run.correlations = correlations;
+            
+            ProjectStatistics projectStats = ProjectStatistics.of(new DescriptiveStatistics(totals));
+            run.sortedTotals = SortedSamples.sortedCopy(totals);
+            SimulationResult result = buildResult(table, numSimulations, run.getSeed(), modelName(model), projectStats, taskMeans, taskStdDevs,
+                    onTimeCounts, estimatedDurations, Arrays.stream(totals).boxed().collect(Collectors.toList()),
+                    copyCorrelations(correlations));
+            result.setRunId(run.getRunId());
+            run.completed(result);
+            
+            log.debug("Retained run {}: regenerated {} of {} task columns, removed {}", run.getRunId(),
+                    regenerated.size(), taskCount, removedColumns.size());
+            return result;
+        }
+    }
+    
+    /**
+     * 샘플 행렬을 메모리 매핑 파일에 기록하면서 시뮬레이션한다.
+     * 힙에는 블록 하나 분량의 샘플과 태스크별 누적값만 두므로 반복 횟수와 무관하게 힙 사용량이 일정하다.
+     * 같은 시드의 힙 실행과 동일한 샘플을 생성하며, 태스크 간 상관관계(태스크 수² × 반복 횟수)는 계산하지 않는다.
+     */
+    public SimulationResult runSimulationMapped(TaskTable table, int numSimulations, DurationModel model, long seed,
+                                                MappedSampleMatrix matrix) throws IOException {
+        int taskCount = table.size();
+        double[] estimatedDurations = table.getEstimatedDurationsHours();
+        TaskDistribution[] distributions = prepareDistributions(table, estimatedDurations, model);
+        long[] taskSeeds = new long[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            taskSeeds[t] = taskSeed(seed, table.getKey(t));
         }
         
-        // 통계 분석
-        DescriptiveStatistics projectStats = new DescriptiveStatistics(projectDurations.stream().mapToDouble(d -> d).toArray());
+        TaskAccumulator accumulator = new TaskAccumulator(estimatedDurations);
+        double[] block = new double[BLOCK_SIZE];
+        for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+            int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+            // 총합 파일의 새 매핑 영역은 0으로 시작하므로 태스크 샘플을 차례로 더함
+            DoubleBuffer totals = matrix.mapTotals(from, count);
+            for (int t = 0; t < taskCount; t++) {
+                DoubleBuffer column = matrix.mapColumn(t, from, count);
+                for (int offset = 0; offset < count; offset += BLOCK_SIZE) {
+                    int length = Math.min(BLOCK_SIZE, count - offset);
+                    sampleTask(distributions[t], taskSeeds[t], from + offset, block, 0, length);
+                    column.put(block, 0, length);
+                    accumulator.add(t, block, length);
+                    for (int i = 0; i < length; i++) {
+                        totals.put(offset + i, totals.get(offset + i) + block[i]);
+                    }
+                }
+            }
+        }
+        
+        return buildMappedResult(table, numSimulations, seed, modelName(model), accumulator, estimatedDurations, matrix);
+    }
+    
+    /**
+     * 저장된 샘플 행렬을 다시 스트리밍해 재시뮬레이션 없이 결과를 재구성한다.
+     */
+    public SimulationResult summarizeMapped(TaskTable table, int numSimulations, long seed, String durationModel,
+                                            MappedSampleMatrix matrix) throws IOException {
+        double[] estimatedDurations = table.getEstimatedDurationsHours();
+        TaskAccumulator accumulator = new TaskAccumulator(estimatedDurations);
+        double[] block = new double[BLOCK_SIZE];
+        for (int t = 0; t < table.size(); t++) {
+            for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+                int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+                DoubleBuffer column = matrix.mapColumn(t, from, count);
+                for (int offset = 0; offset < count; offset += BLOCK_SIZE) {
+                    int length = Math.min(BLOCK_SIZE, count - offset);
+                    column.get(block, 0, length);
+                    accumulator.add(t, block, length);
+                }
+            }
+        }
+        
+        return buildMappedResult(table, numSimulations, seed, durationModel, accumulator, estimatedDurations, matrix);
+    }
+    
+    /**
+     * 분산 실행의 반복 구간 [fromIteration, fromIteration + totals.length)을 시뮬레이션한다.
+     * 반복별 총합은 totals에 채우고, 청크별 부분 통계를 반환한다. fromIteration은 SHARD_CHUNK_ITERATIONS의 배수여야 한다.
+     * 같은 시드의 단일 노드 실행과 같은 샘플과 총합을 만든다.
+     */
+    public ShardPartial simulateShard(TaskTable table, DurationModel model, long seed, int numSimulations,
+                                      int fromIteration, double[] totals) {
+        int taskCount = table.size();
+        int count = totals.length;
+        int chunks = (count + SHARD_CHUNK_ITERATIONS - 1) / SHARD_CHUNK_ITERATIONS;
+        double[] estimatedDurations = table.getEstimatedDurationsHours();
+        TaskDistribution[] distributions = prepareDistributions(table, estimatedDurations, model);
+        
+        double[][] taskMeans = new double[chunks][taskCount];
+        double[][] taskSquaredDeviations = new double[chunks][taskCount];
+        int[][] taskOnTimeCounts = new int[chunks][taskCount];
+        double[] chunk = new double[Math.min(SHARD_CHUNK_ITERATIONS, count)];
+        for (int t = 0; t < taskCount; t++) {
+            long taskSeed = taskSeed(seed, table.getKey(t));
+            for (int c = 0; c < chunks; c++) {
+                int offset = c * SHARD_CHUNK_ITERATIONS;
+                int length = Math.min(SHARD_CHUNK_ITERATIONS, count - offset);
+                sampleTask(distributions[t], taskSeed, fromIteration + offset, chunk, 0, length);
+                
+                double sum = 0;
+                int onTime = 0;
+                for (int i = 0; i < length; i++) {
+                    double x = chunk[i];
+                    sum += x;
+                    totals[offset + i] += x;
+                    if (x <= estimatedDurations[t]) {
+                        onTime++;
+                    }
+                }
+                double mean = sum / length;
+                taskMeans[c][t] = mean;
+                taskSquaredDeviations[c][t] = squaredDeviations(chunk, 0, length, mean);
+                taskOnTimeCounts[c][t] = onTime;
+            }
+        }
+        
+        double[] totalMeans = new double[chunks];
+        double[] totalSquaredDeviations = new double[chunks];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < chunks; c++) {
+            int offset = c * SHARD_CHUNK_ITERATIONS;
+            int length = Math.min(SHARD_CHUNK_ITERATIONS, count - offset);
+            double sum = 0;
+            for (int i = offset; i < offset + length; i++) {
+                sum += totals[i];
+                min = Math.min(min, totals[i]);
+                max = Math.max(max, totals[i]);
+            }
+            totalMeans[c] = sum / length;
+            totalSquaredDeviations[c] = squaredDeviations(totals, offset, length, totalMeans[c]);
+        }
+        
+        // 분포 추출 위치는 전체 반복 기준이므로 구간을 이어 붙이면 단일 노드 결과와 같음
+        int stride = distributionStride(numSimulations);
+        List<Double> distribution = new ArrayList<>(count / stride + 1);
+        for (int i = (stride - fromIteration % stride) % stride; i < count; i += stride) {
+            distribution.add(totals[i]);
+        }
         
-        // 백분위수 계산
-        double p50Duration = projectStats.getPercentile(50);
-        double p80Duration = projectStats.getPercentile(80);
-        double p90Duration = projectStats.getPercentile(90);
+        return ShardPartial.builder()
+                .fromIteration(fromIteration)
+                .iterationCount(count)
+                .taskMeans(taskMeans)
+                .taskSquaredDeviations(taskSquaredDeviations)
+                .taskOnTimeCounts(taskOnTimeCounts)
+                .totalMeans(totalMeans)
+                .totalSquaredDeviations(totalSquaredDeviations)
+                .minTotal(min)
+                .maxTotal(max)
+                .distribution(distribution)
+                .build();
+    }
+    
+    /**
+     * 반복 구간 순서로 정렬된 부분 통계를 병합해 결과를 만든다. percentiles는 REPORTED_PERCENTILES 순서의 정확한 백분위수.
+     * 청크 통계는 항상 같은 순서로 병합(Chan 등)하므로 구간을 몇 개 노드에 어떻게 나눴는지와 무관하게 같은 값이 된다.
+     */
+    public SimulationResult buildShardedResult(TaskTable table, int numSimulations, long seed, String durationModel,
+                                               List<ShardPartial> partials, double[] percentiles) {
+        int taskCount = table.size();
+        double[] taskMeans = new double[taskCount];
+        double[] taskSquaredDeviations = new double[taskCount];
+        int[] onTimeCounts = new int[taskCount];
+        double totalMean = 0;
+        double totalSquaredDeviations = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        List<Double> distribution = new ArrayList<>();
+        
+        long merged = 0;
+        for (ShardPartial partial : partials) {
+            for (int c = 0; c < partial.getTotalMeans().length; c++) {
+                int length = Math.min(SHARD_CHUNK_ITERATIONS, partial.getIterationCount() - c * SHARD_CHUNK_ITERATIONS);
+                for (int t = 0; t < taskCount; t++) {
+                    double[] mergedStats = mergeMoments(merged, taskMeans[t], taskSquaredDeviations[t],
+                            length, partial.getTaskMeans()[c][t], partial.getTaskSquaredDeviations()[c][t]);
+                    taskMeans[t] = mergedStats[0];
+                    taskSquaredDeviations[t] = mergedStats[1];
+                    onTimeCounts[t] += partial.getTaskOnTimeCounts()[c][t];
+                }
+                double[] mergedTotals = mergeMoments(merged, totalMean, totalSquaredDeviations,
+                        length, partial.getTotalMeans()[c], partial.getTotalSquaredDeviations()[c]);
+                totalMean = mergedTotals[0];
+                totalSquaredDeviations = mergedTotals[1];
+                merged += length;
+            }
+            min = Math.min(min, partial.getMinTotal());
+            max = Math.max(max, partial.getMaxTotal());
+            distribution.addAll(partial.getDistribution());
+        }
+        
+        double[] taskStdDevs = new double[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            taskStdDevs[t] = merged > 1 ? Math.sqrt(taskSquaredDeviations[t] / (merged - 1)) : 0.0;
+        }
+        double std = merged > 1 ? Math.sqrt(totalSquaredDeviations / (merged - 1)) : 0.0;
+        ProjectStatistics projectStats = new ProjectStatistics(totalMean, std, min, max,
+                percentiles[0], percentiles[1], percentiles[2]);
+        
+        return buildResult(table, numSimulations, seed, durationModel, projectStats, taskMeans, taskStdDevs, onTimeCounts,
+                table.getEstimatedDurationsHours(), distribution, new HashMap<>());
+    }
+    
+    static double[] reportedPercentiles() {
+        return REPORTED_PERCENTILES.clone();
+    }
+    
+    private static double[] mergeMoments(long countA, double meanA, double squaredDeviationsA,
+                                         long countB, double meanB, double squaredDeviationsB) {
+        if (countA == 0) {
+            return new double[]{meanB, squaredDeviationsB};
+        }
+        // Chan et al. 병렬 분산 병합
+        long count = countA + countB;
+        double delta = meanB - meanA;
+        double mean = meanA + delta * countB / count;
+        double squaredDeviations = squaredDeviationsA + squaredDeviationsB + delta * delta * countA * countB / count;
+        return new double[]{mean, squaredDeviations};
+    }
+    
+    private static double squaredDeviations(double[] values, int offset, int length, double mean) {
+        double sum = 0;
+        for (int i = offset; i < offset + length; i++) {
+            double d = values[i] - mean;
+            sum += d * d;
+        }
+        return sum;
+    }
+    
+    private static int distributionStride(int numSimulations) {
+        return (numSimulations + MAX_DISTRIBUTION_POINTS - 1) / MAX_DISTRIBUTION_POINTS;
+    }
+    
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+    
+    public static long taskSeed(long runSeed, String taskKey) {
+        // 태스크 순서가 바뀌어도 같은 태스크는 같은 샘플 스트림을 받도록 키로 시드를 파생
+        return mix64(runSeed ^ mix64(taskKey.hashCode()));
+    }
+    
+    private static long blockSeed(long taskSeed, int block) {
+        return mix64(taskSeed + (block + 1L) * 0x9E3779B97F4A7C15L);
+    }
+    
+    private static long mix64(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static void sampleTask(TaskDistribution distribution, long taskSeed, int fromIteration, double[] out, int offset, int length) {
+        // fromIteration은 BLOCK_SIZE 경계여야 함. 분포 구현 호출은 샘플이 아닌 블록당 한 번
+        for (int done = 0; done < length; done += BLOCK_SIZE) {
+            int block = (fromIteration + done) / BLOCK_SIZE;
+            distribution.fill(new SplittableRandom(blockSeed(taskSeed, block)), out, offset + done, Math.min(BLOCK_SIZE, length - done));
+        }
+    }
+    
+    private TaskDistribution[] prepareDistributions(TaskTable table, double[] estimatedDurations, DurationModel model) {
+        // 모델이 없으면 기본 삼각분포 사용
+        DurationModel durationModel = model != null ? model : DEFAULT_MODEL;
+        TaskDistribution[] distributions = new TaskDistribution[table.size()];
+        for (int t = 0; t < distributions.length; t++) {
+            distributions[t] = durationModel.prepare(table, t, estimatedDurations[t]);
+        }
+        return distributions;
+    }
+    
+    private static String modelName(DurationModel model) {
+        return (model != null ? model : DEFAULT_MODEL).getName();
+    }
+    
+    private static RetainedRun.Column retainColumn(TaskDistribution distribution, double[] samples, double estimatedDuration) {
+        int n = samples.length;
+        double sum = 0;
+        double sumSquares = 0;
+        int onTime = 0;
+        for (double x : samples) {
+            sum += x;
+            sumSquares += x * x;
+            if (x <= estimatedDuration) {
+                onTime++;
+            }
+        }
+        
+        // 평균/표준편차는 힙 실행과 같은 2-pass 표본 표준편차 (n - 1)
+        double mean = n == 0 ? Double.NaN : sum / n;
+        double deviations = 0;
+        for (double x : samples) {
+            double d = x - mean;
+            deviations += d * d;
+        }
+        double standardDeviation = n <= 1 ? 0.0 : Math.sqrt(deviations / (n - 1));
+        return new RetainedRun.Column(distribution, samples, sum, sumSquares, mean, standardDeviation, onTime);
+    }
+    
+    private SimulationResult buildMappedResult(TaskTable table, int numSimulations, long seed, String durationModel,
+                                               TaskAccumulator accumulator, double[] estimatedDurations,
+                                               MappedSampleMatrix matrix) throws IOException {
+        int taskCount = table.size();
+        double[] taskMeans = new double[taskCount];
+        double[] taskStdDevs = new double[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            taskMeans[t] = accumulator.mean(t, numSimulations);
+            taskStdDevs[t] = accumulator.standardDeviation(t, numSimulations);
+        }
+        
+        ProjectStatistics projectStats = streamProjectStatistics(matrix, numSimulations);
+        List<Double> distribution = sampleDistribution(matrix, numSimulations);
+        
+        return buildResult(table, numSimulations, seed, durationModel, projectStats, taskMeans, taskStdDevs, accumulator.onTimeCounts,
+                estimatedDurations, distribution, new HashMap<>());
+    }
+    
+    private SimulationResult buildResult(TaskTable table, int numSimulations, long seed, String durationModel, ProjectStatistics projectStats,
+                                         double[] taskMeans, double[] taskStdDevs, int[] onTimeCounts, double[] estimatedDurations,
+                                         List<Double> durationDistribution, Map<String, Map<String, Double>> taskCorrelations) {
+        int taskCount = table.size();
         
         // 크리티컬 패스 분석
-        List<String> criticalPath = identifyCriticalPath(tasks, taskDurations);
+        List<String> criticalPath = identifyCriticalPath(table, taskMeans);
         
         // 태스크별 완료 확률 계산
-        Map<String, Double> taskCompletionProbabilities = calculateTaskCompletionProbabilities(tasks, taskDurations);
+        Map<String, Double> taskCompletionProbabilities = calculateTaskCompletionProbabilities(table, onTimeCounts, numSimulations);
         
         // 태스크별 상세 분석 생성
-        Map<String, SimulationResult.TaskAnalysis> taskAnalyses = generateTaskAnalyses(tasks, taskDurations, taskCompletionProbabilities);
-        
-        // 태스크별 상관관계 계산
-        Map<String, Map<String, Double>> taskCorrelations = calculateTaskCorrelations(taskDurations);
+        Map<String, SimulationResult.TaskAnalysis> taskAnalyses = generateTaskAnalyses(table, taskMeans, taskStdDevs, estimatedDurations, taskCompletionProbabilities);
         
         // 리스크 분석
-        SimulationResult.RiskAnalysis riskAnalysis = analyzeRisks(tasks, projectDurations, taskDurations);
+        SimulationResult.RiskAnalysis riskAnalysis = analyzeRisks(table, projectStats, taskMeans, taskStdDevs);
         
         // 종합 의견 생성
-        String overallAssessment = generateOverallAssessment(projectStats, riskAnalysis, tasks.size());
+        String overallAssessment = generateOverallAssessment(projectStats, riskAnalysis, taskCount);
         
         return SimulationResult.builder()
-                .projectKey(tasks.isEmpty() ? "UNKNOWN" : tasks.get(0).getKey().split("-")[0])
+                .projectKey(taskCount == 0 ? "UNKNOWN" : table.getKey(0).split("-")[0])
                 .totalSimulations(numSimulations)
-                .p50Duration(p50Duration)
-                .p80Duration(p80Duration)
-                .p90Duration(p90Duration)
-                .meanDuration(projectStats.getMean())
-                .standardDeviation(projectStats.getStandardDeviation())
-                .minDuration(projectStats.getMin())
-                .maxDuration(projectStats.getMax())
+                .seed(seed)
+                .durationModel(durationModel)
+                .p50Duration(projectStats.p50)
+                .p80Duration(projectStats.p80)
+                .p90Duration(projectStats.p90)
+                .meanDuration(projectStats.mean)
+                .standardDeviation(projectStats.standardDeviation)
+                .minDuration(projectStats.min)
+                .maxDuration(projectStats.max)
                 .criticalPath(criticalPath)
                 .taskCompletionProbabilities(taskCompletionProbabilities)
                 .taskAnalyses(taskAnalyses)
-                .durationDistribution(projectDurations)
+                .durationDistribution(durationDistribution)
                 .taskCorrelations(taskCorrelations)
                 .riskAnalysis(riskAnalysis)
                 .overallAssessment(overallAssessment)
                 .build();
     }
     
-    private double simulateTaskDuration(JiraTask task) {
-        // cf10332 (시작일)와 cf10333 (종료일)을 사용하여 기간 계산
-        LocalDateTime startDate = parseCustomDateTime(task.getCf10332());
-        LocalDateTime endDate = parseCustomDateTime(task.getCf10333());
-        
-        double estimatedDuration = 8.0; // 기본값
-        
-        if (startDate != null && endDate != null && endDate.isAfter(startDate)) {
-            // 두 날짜 사이의 시간 차이를 시간 단위로 계산
-            long hoursBetween = java.time.Duration.between(startDate, endDate).toHours();
-            estimatedDuration = Math.max(1.0, hoursBetween); // 최소 1시간
-        } else {
-            // 커스텀 필드가 없으면 기존 로직 사용
-            estimatedDuration = task.getOriginalEstimate() != null ? task.getOriginalEstimate() / 3600.0 : 8.0;
+    private ProjectStatistics streamProjectStatistics(MappedSampleMatrix matrix, int numSimulations) throws IOException {
+        // 1차: 최소/최대/평균/표준편차 (첫 값 기준 이동 합으로 정밀도 유지)
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double shift = Double.NaN;
+        double sum = 0;
+        double sumSq = 0;
+        for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+            int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+            DoubleBuffer totals = matrix.mapTotals(from, count);
+            for (int i = 0; i < count; i++) {
+                double x = totals.get(i);
+                if (Double.isNaN(shift)) {
+                    shift = x;
+                }
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+                double d = x - shift;
+                sum += d;
+                sumSq += d * d;
+            }
         }
+        double mean = shift + sum / numSimulations;
+        double std = numSimulations > 1 ? Math.sqrt(Math.max(0, (sumSq - sum * sum / numSimulations) / (numSimulations - 1))) : 0.0;
         
-        // 삼각분포 파라미터 설정 (최적, 최대, 최소)
-        double optimistic = estimatedDuration * 0.7; // 30% 단축 가능
-        double mostLikely = estimatedDuration;
-        double pessimistic = estimatedDuration * 2.0; // 100% 초과 가능
-        
-        // 우선순위에 따른 리스크 조정
-        if ("High".equals(task.getPriority())) {
-            pessimistic *= 1.5; // 높은 우선순위는 더 많은 불확실성
-        } else if ("Low".equals(task.getPriority())) {
-            pessimistic *= 0.8; // 낮은 우선순위는 상대적으로 안정적
+        double[] percentiles = new double[REPORTED_PERCENTILES.length];
+        if (min == max) {
+            Arrays.fill(percentiles, min);
+        } else {
+            percentiles = streamPercentiles(matrix, numSimulations, min, max);
         }
-        
-        TriangularDistribution distribution = new TriangularDistribution(optimistic, mostLikely, pessimistic);
-        return distribution.sample();
+        return new ProjectStatistics(mean, std, min, max, percentiles[0], percentiles[1], percentiles[2]);
     }
     
-    private LocalDateTime parseCustomDateTime(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
-            return null;
+    private double[] streamPercentiles(MappedSampleMatrix matrix, int numSimulations, double min, double max) throws IOException {
+        // 2차: 히스토그램으로 각 순위가 속한 구간을 찾고, 3차: 해당 구간 값만 모아 정확한 순위값을 구함
+        double binWidth = ExactPercentiles.binWidth(min, max);
+        long[] histogram = new long[ExactPercentiles.BINS];
+        for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+            int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+            DoubleBuffer totals = matrix.mapTotals(from, count);
+            for (int i = 0; i < count; i++) {
+                histogram[ExactPercentiles.bin(totals.get(i), min, binWidth)]++;
+            }
         }
         
-        try {
-            // 다양한 날짜 형식 시도
-            String[] patterns = {
-                "yyyy-MM-dd'T'HH:mm:ss.SSSZ",
-                "yyyy-MM-dd'T'HH:mm:ssZ",
-                "yyyy-MM-dd'T'HH:mm:ss",
-                "yyyy-MM-dd HH:mm:ss",
-                "yyyy-MM-dd"
-            };
-            
-            for (String pattern : patterns) {
-                try {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-                    if (pattern.contains("Z")) {
-                        return LocalDateTime.parse(dateStr, formatter);
-                    } else {
-                        return LocalDateTime.parse(dateStr, formatter);
-                    }
-                } catch (Exception e) {
-                    // 다음 패턴 시도
-                    continue;
+        ExactPercentiles percentiles = ExactPercentiles.of(REPORTED_PERCENTILES, numSimulations);
+        Map<Integer, double[]> binValues = new HashMap<>();
+        for (int bin : percentiles.targetBins(histogram)) {
+            binValues.put(bin, new double[(int) histogram[bin]]);
+        }
+        
+        int[] filled = new int[ExactPercentiles.BINS];
+        for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+            int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+            DoubleBuffer totals = matrix.mapTotals(from, count);
+            for (int i = 0; i < count; i++) {
+                double x = totals.get(i);
+                int bin = ExactPercentiles.bin(x, min, binWidth);
+                double[] values = binValues.get(bin);
+                if (values != null) {
+                    values[filled[bin]++] = x;
                 }
             }
-            
-            // ISO 형식 시도
-            return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } catch (Exception e) {
-            return null;
         }
+        return percentiles.resolve(histogram, binValues);
+    }
+    
+    private List<Double> sampleDistribution(MappedSampleMatrix matrix, int numSimulations) throws IOException {
+        // 응답 크기를 제한하기 위해 균등 간격으로 추출한 반복만 분포로 반환
+        int stride = distributionStride(numSimulations);
+        List<Double> distribution = new ArrayList<>(numSimulations / stride + 1);
+        for (int from = 0; from < numSimulations; from += WINDOW_ITERATIONS) {
+            int count = Math.min(WINDOW_ITERATIONS, numSimulations - from);
+            DoubleBuffer totals = matrix.mapTotals(from, count);
+            int first = (stride - from % stride) % stride;
+            for (int i = first; i < count; i += stride) {
+                distribution.add(totals.get(i));
+            }
+        }
+        return distribution;
     }
     
-    private List<String> identifyCriticalPath(List<JiraTask> tasks, Map<String, List<Double>> taskDurations) {
+    private List<String> identifyCriticalPath(TaskTable table, double[] taskMeans) {
         // 간단한 크리티컬 패스 식별 (가장 긴 평균 소요시간을 가진 태스크들)
-        return taskDurations.entrySet().stream()
-                .sorted((e1, e2) -> {
-                    double avg1 = e1.getValue().stream().mapToDouble(d -> d).average().orElse(0);
-                    double avg2 = e2.getValue().stream().mapToDouble(d -> d).average().orElse(0);
-                    return Double.compare(avg2, avg1); // 내림차순
-                })
-                .limit(Math.min(5, tasks.size())) // 상위 5개 태스크
-                .map(Map.Entry::getKey)
+        return IntStream.range(0, table.size())
+                .boxed()
+                .sorted((t1, t2) -> Double.compare(taskMeans[t2], taskMeans[t1])) // 내림차순
+                .limit(Math.min(5, table.size())) // 상위 5개 태스크
+                .map(table::getKey)
                 .collect(Collectors.toList());
     }
     
-    private Map<String, Double> calculateTaskCompletionProbabilities(List<JiraTask> tasks, Map<String, List<Double>> taskDurations) {
+    private Map<String, Double> calculateTaskCompletionProbabilities(TaskTable table, int[] onTimeCounts, int numSimulations) {
         Map<String, Double> probabilities = new HashMap<>();
         
-        for (JiraTask task : tasks) {
-            List<Double> durations = taskDurations.get(task.getKey());
-            if (durations != null && !durations.isEmpty()) {
-                // cf10332와 cf10333을 사용하여 예상 기간 계산
-                LocalDateTime startDate = parseCustomDateTime(task.getCf10332());
-                LocalDateTime endDate = parseCustomDateTime(task.getCf10333());
-                
-                double expectedDuration = 8.0; // 기본값
-                
-                final double finalExpectedDuration;
-                if (startDate != null && endDate != null && endDate.isAfter(startDate)) {
-                    long hoursBetween = java.time.Duration.between(startDate, endDate).toHours();
-                    finalExpectedDuration = Math.max(1.0, hoursBetween);
-                } else {
-                    // 커스텀 필드가 없으면 기존 로직 사용
-                    finalExpectedDuration = task.getOriginalEstimate() != null ? task.getOriginalEstimate() / 3600.0 : 8.0;
-                }
-                
-                long onTimeCount = durations.stream().filter(d -> d <= finalExpectedDuration).count();
-                double probability = (double) onTimeCount / durations.size();
-                probabilities.put(task.getKey(), probability);
-            }
+        for (int t = 0; t < table.size(); t++) {
+            probabilities.put(table.getKey(t), (double) onTimeCounts[t] / numSimulations);
         }
         
         return probabilities;
     }
     
-    private SimulationResult.RiskAnalysis analyzeRisks(List<JiraTask> tasks, List<Double> projectDurations, Map<String, List<Double>> taskDurations) {
+    private SimulationResult.RiskAnalysis analyzeRisks(TaskTable table, ProjectStatistics projectStats, double[] taskMeans, double[] taskStdDevs) {
         // 일정 리스크 계산
-        double scheduleRisk = calculateScheduleRisk(projectDurations);
+        double scheduleRisk = calculateScheduleRisk(projectStats);
         
         // 리소스 리스크 계산
-        double resourceRisk = calculateResourceRisk(tasks);
+        double resourceRisk = calculateResourceRisk(table);
         
         // 범위 리스크 계산
-        double scopeRisk = calculateScopeRisk(tasks);
+        double scopeRisk = calculateScopeRisk(table);
         
         // 고위험 태스크 식별
-        List<String> highRiskTasks = identifyHighRiskTasks(tasks, taskDurations);
+        List<String> highRiskTasks = identifyHighRiskTasks(table, taskMeans, taskStdDevs);
         
         // 권장사항 생성
         List<String> recommendations = generateRecommendations(scheduleRisk, resourceRisk, scopeRisk, highRiskTasks);
@@ -230,41 +724,47 @@ public class MonteCarloService {
                 .build();
     }
     
-    private double calculateScheduleRisk(List<Double> projectDurations) {
-        DescriptiveStatistics stats = new DescriptiveStatistics(projectDurations.stream().mapToDouble(d -> d).toArray());
-        double mean = stats.getMean();
-        double p80 = stats.getPercentile(80);
+    private double calculateScheduleRisk(ProjectStatistics stats) {
+        double mean = stats.mean;
+        double p80 = stats.p80;
         
         // P80이 평균보다 20% 이상 클 때 리스크로 판단
         return Math.min(1.0, Math.max(0.0, (p80 - mean) / mean));
     }
     
-    private double calculateResourceRisk(List<JiraTask> tasks) {
+    private double calculateResourceRisk(TaskTable table) {
         // 할당되지 않은 태스크 비율
-        long unassignedCount = tasks.stream().filter(t -> t.getAssignee() == null).count();
-        return (double) unassignedCount / tasks.size();
+        int unassignedCount = 0;
+        for (int t = 0; t < table.size(); t++) {
+            if (table.getAssigneeId(t) == TaskTable.NO_VALUE) {
+                unassignedCount++;
+            }
+        }
+        return (double) unassignedCount / table.size();
     }
     
-    private double calculateScopeRisk(List<JiraTask> tasks) {
+    private double calculateScopeRisk(TaskTable table) {
         // 추정치가 없는 태스크 비율
-        long noEstimateCount = tasks.stream().filter(t -> t.getOriginalEstimate() == null).count();
-        return (double) noEstimateCount / tasks.size();
-    }
-    
-    private List<String> identifyHighRiskTasks(List<JiraTask> tasks, Map<String, List<Double>> taskDurations) {
-        return taskDurations.entrySet().stream()
-                .filter(entry -> {
-                    List<Double> durations = entry.getValue();
-                    if (durations.isEmpty()) return false;
-                    
-                    DescriptiveStatistics stats = new DescriptiveStatistics(durations.stream().mapToDouble(d -> d).toArray());
-                    double cv = stats.getStandardDeviation() / stats.getMean(); // 변동계수
-                    
-                    // 변동계수가 0.5 이상이거나 평균이 40시간 이상인 태스크를 고위험으로 분류
-                    return cv > 0.5 || stats.getMean() > 40;
-                })
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        int noEstimateCount = 0;
+        for (int t = 0; t < table.size(); t++) {
+            if (!table.hasEstimate(t)) {
+                noEstimateCount++;
+            }
+        }
+        return (double) noEstimateCount / table.size();
+    }
+    
+    private List<String> identifyHighRiskTasks(TaskTable table, double[] taskMeans, double[] taskStdDevs) {
+        List<String> highRiskTasks = new ArrayList<>();
+        for (int t = 0; t < table.size(); t++) {
+            double cv = taskStdDevs[t] / taskMeans[t]; // 변동계수
+            
+            // 변동계수가 0.5 이상이거나 평균이 40시간 이상인 태스크를 고위험으로 분류
+            if (cv > 0.5 || taskMeans[t] > 40) {
+                highRiskTasks.add(table.getKey(t));
+            }
+        }
+        return highRiskTasks;
     }
     
     private List<String> generateRecommendations(double scheduleRisk, double resourceRisk, double scopeRisk, List<String> highRiskTasks) {
@@ -293,9 +793,9 @@ public class MonteCarloService {
         return recommendations;
     }
     
-    private String generateOverallAssessment(DescriptiveStatistics projectStats, SimulationResult.RiskAnalysis riskAnalysis, int taskCount) {
-        double meanDuration = projectStats.getMean();
-        double cv = projectStats.getStandardDeviation() / meanDuration;
+    private String generateOverallAssessment(ProjectStatistics projectStats, SimulationResult.RiskAnalysis riskAnalysis, int taskCount) {
+        double meanDuration = projectStats.mean;
+        double cv = projectStats.standardDeviation / meanDuration;
         
         StringBuilder assessment = new StringBuilder();
         assessment.append(String.format("프로젝트는 평균 %.1f일(%.1f시간) 소요될 것으로 예상됩니다. ", 
@@ -322,102 +822,133 @@ public class MonteCarloService {
         return assessment.toString();
     }
     
-    private Map<String, SimulationResult.TaskAnalysis> generateTaskAnalyses(List<JiraTask> tasks, Map<String, List<Double>> taskDurations, Map<String, Double> taskCompletionProbabilities) {
+    private Map<String, SimulationResult.TaskAnalysis> generateTaskAnalyses(TaskTable table, double[] taskMeans, double[] taskStdDevs, double[] estimatedDurations, Map<String, Double> taskCompletionProbabilities) {
         Map<String, SimulationResult.TaskAnalysis> taskAnalyses = new HashMap<>();
         
-        for (JiraTask task : tasks) {
-            List<Double> durations = taskDurations.get(task.getKey());
-            if (durations != null && !durations.isEmpty()) {
-                DescriptiveStatistics stats = new DescriptiveStatistics(durations.stream().mapToDouble(d -> d).toArray());
-                
-                // 리스크 레벨 결정
-                String riskLevel;
-                double completionProb = taskCompletionProbabilities.getOrDefault(task.getKey(), 0.5);
-                double variability = stats.getStandardDeviation() / stats.getMean();
-                
-                if (completionProb >= 0.8 && variability < 0.3) {
-                    riskLevel = "낮음";
-                } else if (completionProb >= 0.6 && variability < 0.5) {
-                    riskLevel = "보통";
-                } else {
-                    riskLevel = "높음";
-                }
-                
-                // cf10332와 cf10333을 사용하여 예상 기간 계산
-                LocalDateTime startDate = parseCustomDateTime(task.getCf10332());
-                LocalDateTime endDate = parseCustomDateTime(task.getCf10333());
-                
-                double estimatedDuration = 8.0; // 기본값
-                if (startDate != null && endDate != null && endDate.isAfter(startDate)) {
-                    long hoursBetween = java.time.Duration.between(startDate, endDate).toHours();
-                    estimatedDuration = Math.max(1.0, hoursBetween);
-                } else {
-                    estimatedDuration = task.getOriginalEstimate() != null ? task.getOriginalEstimate() / 3600.0 : 8.0;
-                }
-                
-                double optimisticDuration = estimatedDuration * 0.7;
-                double pessimisticDuration = estimatedDuration * 2.0;
-                
-                taskAnalyses.put(task.getKey(), SimulationResult.TaskAnalysis.builder()
-                        .taskKey(task.getKey())
-                        .completionProbability(completionProb)
-                        .estimatedDuration(stats.getMean())
-                        .optimisticDuration(optimisticDuration)
-                        .pessimisticDuration(pessimisticDuration)
-                        .riskLevel(riskLevel)
-                        .variability(variability)
-                        .status(task.getStatus())
-                        .assignee(task.getAssignee())
-                        .priority(task.getPriority())
-                        .build());
+        for (int t = 0; t < table.size(); t++) {
+            String taskKey = table.getKey(t);
+            
+            // 리스크 레벨 결정
+            String riskLevel;
+            double completionProb = taskCompletionProbabilities.getOrDefault(taskKey, 0.5);
+            double variability = taskStdDevs[t] / taskMeans[t];
+            
+            if (completionProb >= 0.8 && variability < 0.3) {
+                riskLevel = "낮음";
+            } else if (completionProb >= 0.6 && variability < 0.5) {
+                riskLevel = "보통";
+            } else {
+                riskLevel = "높음";
             }
+            
+            double estimatedDuration = estimatedDurations[t];
+            double optimisticDuration = estimatedDuration * 0.7;
+            double pessimisticDuration = estimatedDuration * 2.0;
+            
+            taskAnalyses.put(taskKey, SimulationResult.TaskAnalysis.builder()
+                    .taskKey(taskKey)
+                    .completionProbability(completionProb)
+                    .estimatedDuration(taskMeans[t])
+                    .optimisticDuration(optimisticDuration)
+                    .pessimisticDuration(pessimisticDuration)
+                    .riskLevel(riskLevel)
+                    .variability(variability)
+                    .status(table.getStatus(t))
+                    .assignee(table.getAssignee(t))
+                    .priority(table.getPriority(t))
+                    .build());
         }
         
         return taskAnalyses;
     }
     
-    private Map<String, Map<String, Double>> calculateTaskCorrelations(Map<String, List<Double>> taskDurations) {
+    /**
+     * 표준편차가 큰 순서로 상관관계를 계산할 태스크 행 번호를 고른다 (같으면 행 순서).
+     */
+    private int[] selectCorrelatedTasks(double[] taskStdDevs) {
+        int count = correlatedTaskCount(taskStdDevs.length);
+        return IntStream.range(0, taskStdDevs.length).boxed()
+                .sorted((a, b) -> Double.compare(taskStdDevs[b], taskStdDevs[a]))
+                .limit(count)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+    
+    private Map<String, Map<String, Double>> calculateTaskCorrelations(TaskTable table, double[][] taskDurations, int[] selected) {
         Map<String, Map<String, Double>> correlations = new HashMap<>();
-        List<String> taskKeys = new ArrayList<>(taskDurations.keySet());
+        for (int t : selected) {
+            correlations.put(table.getKey(t), new HashMap<>());
+        }
         
-        for (int i = 0; i < taskKeys.size(); i++) {
-            String task1 = taskKeys.get(i);
-            correlations.put(task1, new HashMap<>());
+        // 태스크별 합/제곱합은 한 번만 계산하고, 대칭이므로 i < j 쌍만 계산
+        double[] sums = new double[selected.length];
+        double[] sumSquares = new double[selected.length];
+        for (int s = 0; s < selected.length; s++) {
+            for (double x : taskDurations[selected[s]]) {
+                sums[s] += x;
+                sumSquares[s] += x * x;
+            }
+        }
+        
+        for (int i = 0; i < selected.length; i++) {
+            String task1 = table.getKey(selected[i]);
+            
+            // 자기 자신과의 상관관계는 1.0
+            correlations.get(task1).put(task1, 1.0);
             
-            for (int j = 0; j < taskKeys.size(); j++) {
-                String task2 = taskKeys.get(j);
+            for (int j = i + 1; j < selected.length; j++) {
+                String task2 = table.getKey(selected[j]);
                 
-                if (i == j) {
-                    // 자기 자신과의 상관관계는 1.0
-                    correlations.get(task1).put(task2, 1.0);
-                } else {
-                    // 두 태스크 간의 상관관계 계산
-                    double correlation = calculateCorrelation(taskDurations.get(task1), taskDurations.get(task2));
-                    correlations.get(task1).put(task2, correlation);
-                }
+                // 두 태스크 간의 상관관계 계산
+                double correlation = calculateCorrelation(taskDurations[selected[i]], taskDurations[selected[j]],
+                        sums[i], sums[j], sumSquares[i], sumSquares[j]);
+                correlations.get(task1).put(task2, correlation);
+                correlations.get(task2).put(task1, correlation);
             }
         }
         
         return correlations;
     }
     
-    private double calculateCorrelation(List<Double> list1, List<Double> list2) {
-        if (list1.size() != list2.size() || list1.isEmpty()) {
+    private void updateTaskCorrelations(Map<String, RetainedRun.Column> columns, List<String> correlatedKeys,
+                                        List<String> regenerated, Map<String, Map<String, Double>> correlations) {
+        for (String task1 : regenerated) {
+            Map<String, Double> row = correlations.get(task1);
+            if (row == null) {
+                continue; // 상관관계 대상이 아닌 태스크
+            }
+            RetainedRun.Column column1 = columns.get(task1);
+            row.put(task1, 1.0);
+            
+            for (String task2 : correlatedKeys) {
+                if (task2.equals(task1)) {
+                    continue;
+                }
+                RetainedRun.Column column2 = columns.get(task2);
+                double correlation = calculateCorrelation(column1.samples, column2.samples,
+                        column1.sum, column2.sum, column1.sumSquares, column2.sumSquares);
+                row.put(task2, correlation);
+                correlations.get(task2).put(task1, correlation);
+            }
+        }
+    }
+    
+    private Map<String, Map<String, Double>> copyCorrelations(Map<String, Map<String, Double>> correlations) {
+        // 보관 중인 행렬은 다음 갱신의 기준이므로 응답과 갱신 작업에는 복사본을 사용
+        Map<String, Map<String, Double>> copy = new HashMap<>();
+        correlations.forEach((key, row) -> copy.put(key, new HashMap<>(row)));
+        return copy;
+    }
+    
+    private double calculateCorrelation(double[] x, double[] y, double sum1, double sum2, double sum1Sq, double sum2Sq) {
+        if (x.length != y.length || x.length == 0) {
             return 0.0;
         }
         
-        int n = list1.size();
-        double sum1 = 0, sum2 = 0, sum1Sq = 0, sum2Sq = 0, pSum = 0;
-        
+        int n = x.length;
+        double pSum = 0;
         for (int i = 0; i < n; i++) {
-            double x = list1.get(i);
-            double y = list2.get(i);
-            
-            sum1 += x;
-            sum2 += y;
-            sum1Sq += x * x;
-            sum2Sq += y * y;
-            pSum += x * y;
+            pSum += x[i] * y[i];
         }
         
         double num = pSum - (sum1 * sum2 / n);
@@ -429,4 +960,101 @@ public class MonteCarloService {
         
         return num / den;
     }
-} 
\ No newline at end of file
+    
+    private double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? Double.NaN : sum / values.length;
+    }
+    
+    private double standardDeviation(double[] values, double mean) {
+        // DescriptiveStatistics와 같은 표본 표준편차 (n - 1)
+        if (values.length <= 1) {
+            return 0.0;
+        }
+        double sumSq = 0;
+        for (double value : values) {
+            double d = value - mean;
+            sumSq += d * d;
+        }
+        return Math.sqrt(sumSq / (values.length - 1));
+    }
+    
+    /**
+     * 스트리밍 실행의 태스크별 누적값. 기준 소요시간만큼 이동한 합/제곱합으로 분산의 정밀도 손실을 줄인다.
+     */
+    private static final class TaskAccumulator {
+        private final double[] shifts;
+        private final double[] sums;
+        private final double[] sumSquares;
+        private final int[] onTimeCounts;
+        
+        private TaskAccumulator(double[] estimatedDurations) {
+            this.shifts = estimatedDurations;
+            this.sums = new double[estimatedDurations.length];
+            this.sumSquares = new double[estimatedDurations.length];
+            this.onTimeCounts = new int[estimatedDurations.length];
+        }
+        
+        private void add(int task, double[] samples, int length) {
+            double shift = shifts[task];
+            double sum = 0;
+            double sumSq = 0;
+            int onTime = 0;
+            for (int i = 0; i < length; i++) {
+                double d = samples[i] - shift;
+                sum += d;
+                sumSq += d * d;
+                if (d <= 0) {
+                    onTime++;
+                }
+            }
+            sums[task] += sum;
+            sumSquares[task] += sumSq;
+            onTimeCounts[task] += onTime;
+        }
+        
+        private double mean(int task, int n) {
+            return shifts[task] + sums[task] / n;
+        }
+        
+        private double standardDeviation(int task, int n) {
+            // 표본 표준편차 (n - 1)
+            if (n <= 1) {
+                return 0.0;
+            }
+            return Math.sqrt(Math.max(0, (sumSquares[task] - sums[task] * sums[task] / n) / (n - 1)));
+        }
+    }
+    
+    /**
+     * 프로젝트 총 기간 분포의 요약 통계. 힙 실행과 스트리밍 실행이 같은 분석 코드를 쓰도록 분리.
+     */
+    private static final class ProjectStatistics {
+        private final double mean;
+        private final double standardDeviation;
+        private final double min;
+        private final double max;
+        private final double p50;
+        private final double p80;
+        private final double p90;
+        
+        private ProjectStatistics(double mean, double standardDeviation, double min, double max, double p50, double p80, double p90) {
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+            this.min = min;
+            this.max = max;
+            this.p50 = p50;
+            this.p80 = p80;
+            this.p90 = p90;
+        }
+        
+        private static ProjectStatistics of(DescriptiveStatistics stats) {
+            // 백분위수 계산
+            return new ProjectStatistics(stats.getMean(), stats.getStandardDeviation(), stats.getMin(), stats.getMax(),
+                    stats.getPercentile(50), stats.getPercentile(80), stats.getPercentile(90));
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.projectjam.service;
+
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 자주 조회되는 프로젝트의 기본 시뮬레이션 결과를 백그라운드에서 미리 계산해 두는 스케줄러.
+ *
+ * 기본 요청(시드/저장 방식/모델 지정 없음)의 빈도를 (프로젝트, 반복 횟수)별로 반감기 half-life-minutes의
+ * 지수 감쇠 점수로 추적하고, 점수가 min-score 이상인 상위 max-projects개를 핫 프로젝트로 본다.
+ * tick-ms마다 사용자 시뮬레이션이 없고 시스템 CPU 사용률이 max-system-cpu-load 미만일 때만 핫 프로젝트 하나의
+ * 태스크를 다시 가져와(저장소 재적재 주기가 됐으면 이때 수행) 시뮬레이션한다. 실행 후에는 걸린 시간에 비례해
+ * 쉬어서 백그라운드 작업이 코어 하나의 cpu-share 비율을 넘지 않게 한다.
+ * 시뮬레이션은 수용 제어의 낮은 우선순위 허가(tryAcquireBackground)를 받아 실행하므로 서버 전체 한도에 포함되고,
+ * 사용자 요청이 대기 중이거나 여유가 없으면 기다리지 않고 다음 tick으로 미룬다.
+ *
+ * 캐시 항목은 계산 당시 태스크 저장소 버전을 기록하므로, 웹훅으로 태스크가 바뀌면 다음 조회부터 적중하지 않는다.
+ * 기본 모델이 empirical인데 첫 보정 전에 삼각분포로 대체해 계산한 항목도 보정이 준비되면 적중하지 않는다.
+ * 캐시 전체 크기는 분포 값과 상관관계 맵을 샘플(double) 수로 환산해 max-samples로 제한하며, 넘으면 점수가 낮은 항목부터 뺀다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrecomputeService {
+
+    public static final String CACHE_HEADER = "X-Simulation-Cache";
+    // 박싱된 분포 값 하나(Double 16바이트 + 리스트 참조)는 샘플(8바이트) 3개로 환산
+    private static final int BOXED_SAMPLE_COST = 3;
+
+    private final JiraTaskStore jiraTaskStore;
+    private final MonteCarloService monteCarloService;
+    private final DurationModelRegistry durationModelRegistry;
+    private final SimulationAdmissionService simulationAdmissionService;
+
+    @Value("${simulation.precompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simulation.precompute.half-life-minutes:30}")
+    private double halfLifeMinutes;
+
+    @Value("${simulation.precompute.min-score:3}")
+    private double minScore;
+
+    @Value("${simulation.precompute.max-projects:20}")
+    private int maxProjects;
+
+    @Value("${simulation.precompute.max-tracked:1000}")
+    private int maxTracked;
+
+    @Value("${simulation.precompute.refresh-interval-minutes:5}")
+    private long refreshIntervalMinutes;
+
+    @Value("${simulation.precompute.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${simulation.precompute.cpu-share:0.25}")
+    private double cpuShare;
+
+    @Value("${simulation.precompute.max-system-cpu-load:0.7}")
+    private double maxSystemCpuLoad;
+
+    @Value("${simulation.precompute.max-samples:20000000}")
+    private long maxSamples;
+
+    private final Map<String, Demand> demands = new HashMap<>(); // lock: this
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private long nextRunAt; // System.nanoTime() 기준, tick 스레드만 사용
+    private long hits;
+    private long misses;
+    private long refreshes;
+    private long deferred;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기본 요청 한 건을 빈도 점수에 반영한다.
+     */
+    public synchronized void recordRequest(String projectKey, int iterations) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        demands.computeIfAbsent(key(projectKey, iterations), key -> new Demand(projectKey, iterations, now)).hit(now, halfLifeMinutes);
+        if (demands.size() > maxTracked) {
+            prune(now);
+        }
+    }
+
+    /**
+     * 태스크가 바뀌지 않았고 max-age-minutes 이내에 계산된 결과. 없으면 null.
+     */
+    public SimulationResult getCached(String projectKey, int iterations) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.get(key(projectKey, iterations));
+        boolean fresh = entry != null && entry.version == jiraTaskStore.getVersion(projectKey)
+                && System.currentTimeMillis() - entry.computedAt <= maxAgeMinutes * 60_000
+                && !calibratedSince(projectKey, entry);
+        synchronized (this) {
+            if (fresh) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        return fresh ? entry.result : null;
+    }
+
+    /**
+     * 요청 처리 중 계산한 기본 결과를 캐시에 넣는다. version은 태스크를 가져오기 전에 읽은 값이어야 한다
+     * (그 사이 바뀌었으면 항목이 바로 무효가 되는 쪽으로 어긋나도록). 핫 프로젝트가 아니면 넣지 않는다.
+     */
+    public void store(String projectKey, int iterations, long version, SimulationResult result) {
+        if (!enabled) {
+            return;
+        }
+        String key = key(projectKey, iterations);
+        synchronized (this) {
+            Demand demand = demands.get(key);
+            if (demand == null || demand.score(System.currentTimeMillis(), halfLifeMinutes) < minScore) {
+                return;
+            }
+            put(key, new Entry(result, version, System.currentTimeMillis(), fellBack(result)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${simulation.precompute.tick-ms:1000}", initialDelayString = "${simulation.precompute.tick-ms:1000}")
+    public void tick() {
+        if (!enabled || System.nanoTime() - nextRunAt < 0) {
+            return;
+        }
+
+        Demand target = nextTarget();
+        if (target == null) {
+            return;
+        }
+        if (!simulationAdmissionService.isIdle() || systemCpuLoad() >= maxSystemCpuLoad) {
+            synchronized (this) {
+                deferred++;
+            }
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            refresh(target);
+        } catch (Exception e) {
+            log.warn("Background precompute failed for project {} ({} iterations)", target.projectKey, target.iterations, e);
+        }
+        long elapsed = System.nanoTime() - started;
+        // 실행 시간 : 휴식 시간 = cpuShare : (1 - cpuShare)
+        nextRunAt = System.nanoTime() + (cpuShare >= 1 ? 0 : (long) (elapsed * (1 - cpuShare) / Math.max(cpuShare, 0.01)));
+    }
+
+    public synchronized Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("refreshes", refreshes);
+        statistics.put("deferred", deferred);
+        statistics.put("tracked", (long) demands.size());
+        statistics.put("hot", (long) hotDemands(System.currentTimeMillis()).size());
+        statistics.put("cached", (long) cache.size());
+        statistics.put("cachedSamples", cachedSamples());
+        return statistics;
+    }
+
+    private void refresh(Demand target) {
+        String key = key(target.projectKey, target.iterations);
+        // 재적재 주기가 됐으면 여기서 Jira 전체 조회
+        TaskTable tasks = jiraTaskStore.getTaskTable(target.projectKey);
+        long version = jiraTaskStore.getVersion(target.projectKey);
+        if (jiraTaskStore.isEnabled()) {
+            // 버전을 읽은 뒤의 테이블을 사용 (그 사이 웹훅이 반영됐으면 기록된 버전이 낮아 다음 tick에 다시 계산)
+            tasks = jiraTaskStore.getTaskTable(target.projectKey);
+        }
+        if (tasks.size() == 0) {
+            cache.remove(key);
+            return;
+        }
+
+        // 캐시에 넣을 수 없는 크기면 계산하지 않음
+        int correlatedTasks = monteCarloService.correlatedTaskCount(tasks.size());
+        if (sampleCount(target.iterations, correlatedTasks) > maxSamples) {
+            cache.remove(key);
+            log.debug("Skipping precompute for project {} ({} iterations, {} tasks): exceeds cache limit",
+                    target.projectKey, target.iterations, tasks.size());
+            return;
+        }
+
+        DurationModel durationModel = durationModelRegistry.create(target.projectKey, durationModelRegistry.getDefaultSpec());
+        long cost = SimulationAdmissionService.estimateCostWithCorrelations(tasks.size(), correlatedTasks, target.iterations);
+        SimulationResult result;
+        try (SimulationAdmissionService.Permit permit = simulationAdmissionService.tryAcquireBackground(cost)) {
+            if (permit == null) {
+                synchronized (this) {
+                    deferred++;
+                }
+                return;
+            }
+            result = monteCarloService.runSimulation(tasks, target.iterations, durationModel, MonteCarloService.newSeed());
+        }
+        // 히스토리에는 요청으로 계산한 실행만 남김 (백그라운드 재계산이 추세에 섞이지 않게 함)
+        synchronized (this) {
+            put(key, new Entry(result, version, System.currentTimeMillis(), fellBack(result)));
+            refreshes++;
+        }
+        log.debug("Precomputed simulation for project {} ({} iterations, {} tasks)", target.projectKey, target.iterations, tasks.size());
+    }
+
+    /**
+     * 캐시가 없거나, 태스크가 바뀌었거나, refresh-interval-minutes가 지난 핫 프로젝트 중 점수가 가장 높은 것.
+     */
+    private synchronized Demand nextTarget() {
+        long now = System.currentTimeMillis();
+        List<Demand> hot = hotDemands(now);
+
+        // 핫 목록에서 빠진 항목은 캐시에서 제거
+        Set<String> hotKeys = new HashSet<>();
+        hot.forEach(demand -> hotKeys.add(key(demand.projectKey, demand.iterations)));
+        cache.keySet().retainAll(hotKeys);
+
+        for (Demand demand : hot) {
+            Entry entry = cache.get(key(demand.projectKey, demand.iterations));
+            if (entry == null || entry.version != jiraTaskStore.getVersion(demand.projectKey)
+                    || calibratedSince(demand.projectKey, entry)
+                    || now - entry.computedAt >= refreshIntervalMinutes * 60_000) {
+                return demand;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 보정이 준비되기 전에 삼각분포로 대체해 계산한 항목인데 이제 보정이 준비됐는지.
+     */
+    private boolean calibratedSince(String projectKey, Entry entry) {
+        return entry.fellBack && durationModelRegistry.isCalibrated(projectKey);
+    }
+
+    private boolean fellBack(SimulationResult result) {
+        return durationModelRegistry.fellBack(durationModelRegistry.getDefaultSpec(), result.getDurationModel());
+    }
+
+    /**
+     * 항목을 넣고 캐시 전체가 max-samples를 넘으면 점수가 낮은 항목부터 뺀다. lock: this
+     */
+    private void put(String key, Entry entry) {
+        if (entry.samples > maxSamples) {
+            cache.remove(key);
+            return;
+        }
+        cache.put(key, entry);
+        long total = cachedSamples();
+        if (total > maxSamples) {
+            long now = System.currentTimeMillis();
+            List<String> keys = new ArrayList<>(cache.keySet());
+            keys.sort(Comparator.comparingDouble(k -> {
+                Demand demand = demands.get(k);
+                return demand != null ? demand.score(now, halfLifeMinutes) : 0;
+            }));
+            for (String candidate : keys) {
+                if (total <= maxSamples) {
+                    break;
+                }
+                Entry removed = candidate.equals(key) ? null : cache.remove(candidate);
+                if (removed != null) {
+                    total -= removed.samples;
+                }
+            }
+        }
+    }
+
+    private long cachedSamples() {
+        long total = 0;
+        for (Entry entry : cache.values()) {
+            total += entry.samples;
+        }
+        return total;
+    }
+
+    /**
+     * 결과 하나가 차지하는 메모리를 샘플 수로 환산한 값: 박싱된 분포 값 + 상관관계 맵(대상 태스크 수² 항목).
+     */
+    private static long sampleCount(int distributionSize, int correlatedTasks) {
+        return (long) distributionSize * BOXED_SAMPLE_COST
+                + (long) correlatedTasks * correlatedTasks * SimulationAdmissionService.CORRELATION_ENTRY_COST;
+    }
+
+    private List<Demand> hotDemands(long now) {
+        List<Demand> hot = new ArrayList<>();
+        for (Demand demand : demands.values()) {
+            if (demand.score(now, halfLifeMinutes) >= minScore) {
+                hot.add(demand);
+            }
+        }
+        hot.sort(Comparator.comparingDouble((Demand demand) -> demand.score(now, halfLifeMinutes)).reversed());
+        return hot.size() > maxProjects ? hot.subList(0, maxProjects) : hot;
+    }
+
+    private void prune(long now) {
+        // 거의 잊힌 항목부터 제거하고, 그래도 많으면 점수가 낮은 순으로 max-tracked까지 줄임
+        demands.values().removeIf(demand -> demand.score(now, halfLifeMinutes) < 0.01);
+        if (demands.size() > maxTracked) {
+            List<Map.Entry<String, Demand>> entries = new ArrayList<>(demands.entrySet());
+            entries.sort(Comparator.comparingDouble(entry -> entry.getValue().score(now, halfLifeMinutes)));
+            for (int i = 0; i < entries.size() - maxTracked; i++) {
+                demands.remove(entries.get(i).getKey());
+            }
+        }
+    }
+
+    private static double systemCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) os).getCpuLoad();
+            return load >= 0 ? load : 0; // 측정할 수 없으면 유휴로 간주
+        }
+        return 0;
+    }
+
+    private static String key(String projectKey, int iterations) {
+        return projectKey + "#" + iterations;
+    }
+
+    private static final class Demand {
+        private final String projectKey;
+        private final int iterations;
+        private double score;
+        private long updatedAt;
+
+        private Demand(String projectKey, int iterations, long now) {
+            this.projectKey = projectKey;
+            this.iterations = iterations;
+            this.updatedAt = now;
+        }
+
+        private void hit(long now, double halfLifeMinutes) {
+            score = score(now, halfLifeMinutes) + 1;
+            updatedAt = now;
+        }
+
+        private double score(long now, double halfLifeMinutes) {
+            return score * Math.pow(0.5, (now - updatedAt) / (halfLifeMinutes * 60_000));
+        }
+    }
+
+    private static final class Entry {
+        private final SimulationResult result;
+        private final long version;
+        private final long computedAt;
+        private final long samples;
+        private final boolean fellBack; // empirical 기본 모델을 보정 없이 삼각분포로 대체해 계산
+
+        private Entry(SimulationResult result, long version, long computedAt, boolean fellBack) {
+            this.result = result;
+            this.version = version;
+            this.computedAt = computedAt;
+            this.fellBack = fellBack;
+            this.samples = sampleCount(
+                    result.getDurationDistribution() != null ? result.getDurationDistribution().size() : 0,
+                    result.getTaskCorrelations() != null ? result.getTaskCorrelations().size() : 0);
+        }
+    }
+}
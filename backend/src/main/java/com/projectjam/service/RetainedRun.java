@@ -0,0 +1,177 @@
+package com.projectjam.service;
+
+import com.projectjam.model.SimulationResult;
+import com.projectjam.service.duration.TaskDistribution;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 증분 재시뮬레이션을 위해 메모리에 보관하는 실행.
+ *
+ * 태스크 키별 샘플 컬럼과 그 분포 파라미터, 반복별 프로젝트 총합을 유지한다.
+ * 태스크 행 순서는 조회할 때마다 바뀔 수 있으므로 컬럼은 행 번호가 아닌 키로 찾는다.
+ * 상태 변경은 MonteCarloService가 이 객체의 모니터를 잡은 상태에서만 수행한다.
+ */
+public final class RetainedRun {
+
+    private final String runId;
+    private final String projectKey;
+    private final int iterations;
+    private final long seed;
+    private final String durationModel;
+    private final LocalDateTime createdAt;
+
+    // 조회는 잠금 없이 읽으므로 갱신 시 새 객체로 교체
+    volatile Map<String, Column> columns = new HashMap<>();
+    volatile double[] sortedTotals = new double[0];
+    volatile double[] totals;
+    volatile Map<String, Map<String, Double>> correlations = new HashMap<>(); // 상관관계 대상 태스크끼리만
+    // 마지막 총합 재계산 이후 다시 샘플링한 컬럼 수 (델타 누적 오차 관리용)
+    long regeneratedSinceRebuild;
+
+    private SimulationResult lastResult;
+    private LocalDateTime updatedAt;
+    private volatile boolean stale;
+
+    RetainedRun(String runId, String projectKey, int iterations, long seed, String durationModel) {
+        this.runId = runId;
+        this.projectKey = projectKey;
+        this.iterations = iterations;
+        this.seed = seed;
+        this.durationModel = durationModel;
+        this.createdAt = LocalDateTime.now();
+        this.totals = new double[iterations];
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getDurationModel() {
+        return durationModel;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized SimulationResult getLastResult() {
+        return lastResult;
+    }
+
+    public synchronized LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    public synchronized int getTaskCount() {
+        return columns.size();
+    }
+
+    /**
+     * 프로젝트 총 기간의 정렬된 샘플 (갱신 시 교체되며 반환된 배열은 수정하지 않음).
+     */
+    public double[] getSortedTotals() {
+        return sortedTotals;
+    }
+
+    /**
+     * 태스크 소요시간의 정렬된 샘플. 처음 조회할 때 정렬해 컬럼에 캐시한다. 태스크가 없으면 null.
+     */
+    public double[] getSortedTaskSamples(String taskKey) {
+        Column column = columns.get(taskKey);
+        return column != null ? column.sorted() : null;
+    }
+
+    /**
+     * 보관 중인 메모리를 샘플(double) 수로 환산한 값.
+     * 태스크 컬럼 + 조회 시 만든 정렬 캐시 + 총합 + 정렬된 총합, 그리고 상관관계 맵(대상 태스크 수² 항목).
+     */
+    long sampleCount() {
+        Map<String, Column> current = columns;
+        long sortedColumns = 0;
+        for (Column column : current.values()) {
+            if (column.isSorted()) {
+                sortedColumns++;
+            }
+        }
+        long taskCount = current.size();
+        long correlatedTasks = correlations.size();
+        return (taskCount + sortedColumns + 2) * iterations
+                + correlatedTasks * correlatedTasks * SimulationAdmissionService.CORRELATION_ENTRY_COST;
+    }
+
+    /**
+     * 태스크 taskCount개(상관관계 대상 correlatedTasks개)의 실행이 모든 태스크의 정렬 캐시까지 만들었을 때의 sampleCount.
+     */
+    static long maxSampleCount(int taskCount, int correlatedTasks, int iterations) {
+        return (2L * taskCount + 2) * iterations
+                + (long) correlatedTasks * correlatedTasks * SimulationAdmissionService.CORRELATION_ENTRY_COST;
+    }
+
+    void completed(SimulationResult result) {
+        this.lastResult = result;
+        this.updatedAt = LocalDateTime.now();
+        this.stale = false;
+    }
+
+    /**
+     * 태스크 하나의 샘플 컬럼과 요약값.
+     */
+    static final class Column {
+        final TaskDistribution distribution; // 같은 분포면 컬럼을 재사용
+        final double[] samples;
+        final double sum;
+        final double sumSquares;
+        final double mean;
+        final double standardDeviation;
+        final int onTimeCount;
+        private volatile double[] sorted;
+
+        Column(TaskDistribution distribution, double[] samples, double sum, double sumSquares,
+               double mean, double standardDeviation, int onTimeCount) {
+            this.distribution = distribution;
+            this.samples = samples;
+            this.sum = sum;
+            this.sumSquares = sumSquares;
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+            this.onTimeCount = onTimeCount;
+        }
+
+        boolean isSorted() {
+            return sorted != null;
+        }
+
+        double[] sorted() {
+            // 동시에 두 번 정렬될 수는 있지만 결과는 같으므로 잠금 없이 캐시
+            double[] result = sorted;
+            if (result == null) {
+                result = SortedSamples.sortedCopy(samples);
+                sorted = result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.projectjam.service;
+
+import com.projectjam.model.RunQueryResult;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 최근 실행의 샘플 컬럼을 메모리에 보관하고, 태스크가 일부만 바뀌면 해당 컬럼만 다시 샘플링한다.
+ *
+ * 보관량은 실행 수와 샘플 수로 환산한 메모리(태스크 컬럼, 조회로 만든 태스크별 정렬 캐시, 총합 두 벌, 상관관계 맵)로
+ * 제한하며, 넘으면 가장 오래 사용하지 않은 실행부터 제거한다. 정렬 캐시는 조회 시점에 생기므로 조회 후에도 한도를 다시 확인한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetainedRunService {
+
+    private final MonteCarloService monteCarloService;
+
+    @Value("${simulation.retained.max-runs:16}")
+    private int maxRuns;
+
+    @Value("${simulation.retained.max-samples:50000000}")
+    private long maxSamples;
+
+    // 접근 순서 LinkedHashMap으로 LRU 유지
+    private final Map<String, RetainedRun> runs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> latestRunByProject = new LinkedHashMap<>();
+
+    public SimulationResult simulate(String projectKey, TaskTable table, int iterations, DurationModel model, long seed) {
+        checkLimit(table.size(), iterations);
+
+        RetainedRun run = new RetainedRun(UUID.randomUUID().toString(), projectKey, iterations, seed, model.getName());
+        SimulationResult result = monteCarloService.simulateRetained(run, table, model);
+
+        List<RetainedRun> evicted = new ArrayList<>();
+        synchronized (this) {
+            runs.put(run.getRunId(), run);
+            latestRunByProject.put(projectKey, run.getRunId());
+            evict(evicted);
+        }
+        evicted.forEach(e -> log.info("Evicted retained run {} for project {}", e.getRunId(), e.getProjectKey()));
+        return result;
+    }
+
+    /**
+     * 보관 실행을 최신 태스크 구성으로 갱신한다. 실행이 없으면 null.
+     * 모델은 실행에 기록된 이름(getDurationModel)으로 다시 만든 것을 넘긴다.
+     */
+    public SimulationResult refresh(String runId, TaskTable table, DurationModel model) {
+        RetainedRun run = get(runId);
+        if (run == null) {
+            return null;
+        }
+        checkLimit(table.size(), run.getIterations());
+        SimulationResult result = monteCarloService.simulateRetained(run, table, model);
+        evictAfterUpdate();
+        return result;
+    }
+
+    /**
+     * 주어진 확률(0-1)마다 해당 확률로 완료되는 소요시간을 구한다. 실행이나 태스크가 없으면 null.
+     */
+    public RunQueryResult queryQuantiles(String runId, String taskKey, List<Double> probabilities) {
+        for (double p : probabilities) {
+            if (!(p >= 0 && p <= 1)) {
+                throw new IllegalArgumentException("Probability must be between 0 and 1: " + p);
+            }
+        }
+        RetainedRun run = get(runId);
+        double[] sorted = run != null ? sortedSamples(run, taskKey) : null;
+        if (sorted == null) {
+            return null;
+        }
+        evictAfterUpdate();
+
+        List<RunQueryResult.Point> points = new ArrayList<>(probabilities.size());
+        for (double p : probabilities) {
+            points.add(point(p, SortedSamples.quantile(sorted, p)));
+        }
+        return queryResult(run, taskKey, sorted, points);
+    }
+
+    /**
+     * 주어진 소요시간(시간)마다 그 안에 완료될 확률을 구한다. 실행이나 태스크가 없으면 null.
+     */
+    public RunQueryResult queryCdf(String runId, String taskKey, List<Double> hours) {
+        for (double h : hours) {
+            if (!Double.isFinite(h)) {
+                throw new IllegalArgumentException("Hours must be a finite number: " + h);
+            }
+        }
+        RetainedRun run = get(runId);
+        double[] sorted = run != null ? sortedSamples(run, taskKey) : null;
+        if (sorted == null) {
+            return null;
+        }
+        evictAfterUpdate();
+
+        List<RunQueryResult.Point> points = new ArrayList<>(hours.size());
+        for (double h : hours) {
+            points.add(point(SortedSamples.cdf(sorted, h), h));
+        }
+        return queryResult(run, taskKey, sorted, points);
+    }
+
+    /**
+     * 오늘부터 date(포함)까지의 평일 작업 시간 (하루 8시간). 과거 날짜면 0.
+     */
+    public static double workingHoursUntil(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            return 0;
+        }
+        // 온전한 주는 5일씩 계산하고 남은 날만 요일을 확인
+        long fullWeeks = (ChronoUnit.DAYS.between(today, date) + 1) / 7;
+        long workingDays = fullWeeks * 5;
+        for (LocalDate day = today.plusWeeks(fullWeeks); !day.isAfter(date); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                workingDays++;
+            }
+        }
+        return workingDays * 8.0;
+    }
+
+    private void checkLimit(int taskCount, int iterations) {
+        long samples = RetainedRun.maxSampleCount(taskCount, monteCarloService.correlatedTaskCount(taskCount), iterations);
+        if (samples > maxSamples) {
+            throw new IllegalArgumentException("Retained run of up to " + samples + " samples exceeds the limit of " + maxSamples);
+        }
+    }
+
+    private void evictAfterUpdate() {
+        // 정렬 캐시 생성이나 갱신으로 늘어난 보관량 반영 (방금 사용한 실행은 LRU 맨 뒤라 남음)
+        List<RetainedRun> evicted = new ArrayList<>();
+        synchronized (this) {
+            evict(evicted);
+        }
+        evicted.forEach(e -> log.info("Evicted retained run {} for project {}", e.getRunId(), e.getProjectKey()));
+    }
+
+    private double[] sortedSamples(RetainedRun run, String taskKey) {
+        return taskKey == null ? run.getSortedTotals() : run.getSortedTaskSamples(taskKey);
+    }
+
+    private RunQueryResult.Point point(double probability, double hours) {
+        return RunQueryResult.Point.builder()
+                .probability(probability)
+                .hours(hours)
+                .days(hours / 8.0)
+                .build();
+    }
+
+    private RunQueryResult queryResult(RetainedRun run, String taskKey, double[] sorted, List<RunQueryResult.Point> points) {
+        return RunQueryResult.builder()
+                .runId(run.getRunId())
+                .projectKey(run.getProjectKey())
+                .taskKey(taskKey)
+                .sampleCount(sorted.length)
+                .stale(run.isStale())
+                .points(points)
+                .build();
+    }
+
+    public synchronized RetainedRun get(String runId) {
+        return runs.get(runId);
+    }
+
+    public synchronized RetainedRun getLatest(String projectKey) {
+        String runId = latestRunByProject.get(projectKey);
+        return runId != null ? runs.get(runId) : null;
+    }
+
+    public synchronized void markStale(String projectKey) {
+        for (RetainedRun run : runs.values()) {
+            if (run.getProjectKey().equals(projectKey)) {
+                run.markStale();
+            }
+        }
+    }
+
+    public synchronized boolean remove(String runId) {
+        RetainedRun run = runs.remove(runId);
+        if (run == null) {
+            return false;
+        }
+        latestRunByProject.remove(run.getProjectKey(), runId);
+        return true;
+    }
+
+    private void evict(List<RetainedRun> evicted) {
+        long total = 0;
+        for (RetainedRun run : runs.values()) {
+            total += run.sampleCount();
+        }
+
+        // 가장 오래 사용하지 않은 실행부터 제거 (방금 추가한 실행은 유지)
+        Iterator<RetainedRun> iterator = runs.values().iterator();
+        while ((runs.size() > maxRuns || total > maxSamples) && runs.size() > 1) {
+            RetainedRun run = iterator.next();
+            iterator.remove();
+            latestRunByProject.remove(run.getProjectKey(), run.getRunId());
+            total -= run.sampleCount();
+            evicted.add(run);
+        }
+    }
+}
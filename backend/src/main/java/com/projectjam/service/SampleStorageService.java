@@ -0,0 +1,265 @@
+package com.projectjam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectjam.model.SampleRunManifest;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 전체 샘플 행렬을 보관해야 하는 대규모 실행을 메모리 매핑 파일로 저장/재조회한다.
+ *
+ * 실행마다 {storage.dir}/{runId}/ 아래에 샘플 파일과 manifest.json을 둔다.
+ * manifest는 샘플 기록이 끝난 뒤 마지막에 쓰므로, manifest가 없는 디렉터리는 미완료 실행이다.
+ *
+ * 디스크 여유 공간은 실행 중인 다른 실행이 예약한 양을 뺀 뒤 확인하고 같은 잠금 안에서 예약하므로,
+ * 동시에 시작한 실행들이 같은 여유 공간을 중복으로 계산하지 않는다.
+ * 완료 후 retention-hours가 지난 실행과 진행 중이 아닌 미완료 디렉터리는 주기적으로 삭제한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SampleStorageService {
+
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    private final MonteCarloService monteCarloService;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Value("${simulation.storage.dir:./data/runs}")
+    private String storageDir;
+
+    @Value("${simulation.storage.max-iterations:10000000}")
+    private int maxIterations;
+
+    @Value("${simulation.storage.min-free-bytes:1073741824}")
+    private long minFreeBytes;
+
+    @Value("${simulation.storage.retry-after-seconds:60}")
+    private long diskRetryAfterSeconds;
+
+    @Value("${simulation.storage.retention-hours:24}")
+    private long retentionHours;
+
+    private final Set<String> activeRuns = ConcurrentHashMap.newKeySet();
+    private long reservedBytes; // lock: this
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public SimulationResult runAndStore(String projectKey, TaskTable table, int iterations, DurationModel model,
+                                        long seed) throws IOException {
+        String runId = UUID.randomUUID().toString();
+        Path dir = Paths.get(storageDir).resolve(runId);
+        activeRuns.add(runId);
+        long required = MappedSampleMatrix.requiredBytes(table.size(), iterations);
+        try {
+            Files.createDirectories(dir);
+            reserve(projectKey, dir, required);
+            try {
+                SimulationResult result;
+                try (MappedSampleMatrix matrix = MappedSampleMatrix.create(dir, table.size(), iterations)) {
+                    result = monteCarloService.runSimulationMapped(table, iterations, model, seed, matrix);
+                } catch (IOException | RuntimeException e) {
+                    deleteDirectory(dir);
+                    throw e;
+                }
+
+                writeManifest(dir, toManifest(runId, projectKey, table, iterations, seed, model.getName()));
+                result.setRunId(runId);
+                log.info("Stored {} x {} samples for project {} as run {} ({} bytes)", table.size(), iterations, projectKey, runId, required);
+                return result;
+            } finally {
+                // 기록이 끝난 파일은 디스크 사용량에 반영되어 있으므로 예약을 해제
+                synchronized (this) {
+                    reservedBytes -= required;
+                }
+            }
+        } finally {
+            activeRuns.remove(runId);
+        }
+    }
+
+    private synchronized void reserve(String projectKey, Path dir, long required) throws IOException {
+        long usable = Files.getFileStore(dir).getUsableSpace();
+        if (usable - reservedBytes - required < minFreeBytes) {
+            deleteDirectory(dir);
+            log.warn("Rejecting stored simulation for project {}: {} bytes required, {} usable, {} reserved",
+                    projectKey, required, usable, reservedBytes);
+            throw new AdmissionRejectedException(HttpStatus.INSUFFICIENT_STORAGE, diskRetryAfterSeconds,
+                    "Not enough disk space for sample storage");
+        }
+        reservedBytes += required;
+    }
+
+    /**
+     * 보관 기간이 지난 실행과 중단된(manifest 없는) 실행의 디렉터리를 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${simulation.storage.cleanup-interval-ms:600000}", initialDelayString = "${simulation.storage.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        Path root = Paths.get(storageDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        FileTime expiry = FileTime.from(Instant.now().minus(Duration.ofHours(retentionHours)));
+        try (Stream<Path> dirs = Files.list(root)) {
+            for (Path dir : (Iterable<Path>) dirs::iterator) {
+                String runId = dir.getFileName().toString();
+                if (!Files.isDirectory(dir) || activeRuns.contains(runId)) {
+                    continue;
+                }
+                Path manifest = dir.resolve(MANIFEST_FILE);
+                boolean incomplete = !Files.exists(manifest);
+                if (incomplete || Files.getLastModifiedTime(manifest).compareTo(expiry) < 0) {
+                    deleteDirectory(dir);
+                    log.info("Deleted {} stored simulation run {}", incomplete ? "incomplete" : "expired", runId);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up stored simulation runs in {}", root, e);
+        }
+    }
+
+    /**
+     * 저장된 실행의 결과를 샘플 파일에서 다시 계산한다. 실행이 없으면 null.
+     */
+    public SimulationResult summarize(String runId) throws IOException {
+        Path dir = runDirectory(runId);
+        Path manifestFile = dir.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifestFile)) {
+            return null;
+        }
+
+        SampleRunManifest manifest = objectMapper.readValue(manifestFile.toFile(), SampleRunManifest.class);
+        TaskTable table = toTaskTable(manifest);
+        SimulationResult result;
+        try (MappedSampleMatrix matrix = MappedSampleMatrix.open(dir, table.size(), manifest.getIterations())) {
+            result = monteCarloService.summarizeMapped(table, manifest.getIterations(), manifest.getSeed(),
+                    manifest.getDurationModel(), matrix);
+        }
+        result.setProjectKey(manifest.getProjectKey());
+        result.setRunId(runId);
+        return result;
+    }
+
+    public boolean delete(String runId) throws IOException {
+        Path dir = runDirectory(runId);
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        deleteDirectory(dir);
+        log.info("Deleted stored simulation run {}", runId);
+        return true;
+    }
+
+    private Path runDirectory(String runId) {
+        // 경로 조작 방지를 위해 정규화된 UUID 형식만 허용
+        boolean valid;
+        try {
+            valid = UUID.fromString(runId).toString().equals(runId);
+        } catch (IllegalArgumentException e) {
+            valid = false;
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid run id: " + runId);
+        }
+        return Paths.get(storageDir).resolve(runId);
+    }
+
+    static SampleRunManifest toManifest(String runId, String projectKey, TaskTable table, int iterations, long seed,
+                                        String durationModel) {
+        int size = table.size();
+        List<String> keys = new ArrayList<>(size);
+        List<String> statuses = new ArrayList<>(size);
+        List<String> priorities = new ArrayList<>(size);
+        List<String> issueTypes = new ArrayList<>(size);
+        List<String> assignees = new ArrayList<>(size);
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        int[] estimates = new int[size];
+        int[] spent = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys.add(table.getKey(i));
+            statuses.add(table.getStatus(i));
+            priorities.add(table.getPriority(i));
+            issueTypes.add(table.getIssueType(i));
+            assignees.add(table.getAssignee(i));
+            starts[i] = table.getStartEpochSeconds(i);
+            ends[i] = table.getEndEpochSeconds(i);
+            estimates[i] = table.getOriginalEstimateSeconds(i);
+            spent[i] = table.getTimeSpentSeconds(i);
+        }
+
+        return SampleRunManifest.builder()
+                .runId(runId)
+                .projectKey(projectKey)
+                .createdAt(LocalDateTime.now())
+                .seed(seed)
+                .iterations(iterations)
+                .blockSize(MonteCarloService.BLOCK_SIZE)
+                .durationModel(durationModel)
+                .taskKeys(keys)
+                .statuses(statuses)
+                .priorities(priorities)
+                .issueTypes(issueTypes)
+                .assignees(assignees)
+                .startEpochSeconds(starts)
+                .endEpochSeconds(ends)
+                .originalEstimateSeconds(estimates)
+                .timeSpentSeconds(spent)
+                .build();
+    }
+
+    static TaskTable toTaskTable(SampleRunManifest manifest) {
+        TaskTable.Builder builder = TaskTable.builder(false);
+        for (int i = 0; i < manifest.getTaskKeys().size(); i++) {
+            int estimate = manifest.getOriginalEstimateSeconds()[i];
+            int spent = manifest.getTimeSpentSeconds()[i];
+            builder.add(manifest.getTaskKeys().get(i), manifest.getStatuses().get(i), manifest.getPriorities().get(i),
+                    manifest.getIssueTypes().get(i), manifest.getAssignees().get(i),
+                    manifest.getStartEpochSeconds()[i], manifest.getEndEpochSeconds()[i],
+                    estimate != TaskTable.NO_VALUE ? estimate : null,
+                    spent != TaskTable.NO_VALUE ? spent : null,
+                    null);
+        }
+        return builder.build();
+    }
+
+    private void writeManifest(Path dir, SampleRunManifest manifest) throws IOException {
+        Path temp = dir.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), manifest);
+        Files.move(temp, dir.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
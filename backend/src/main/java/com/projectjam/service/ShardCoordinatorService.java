@@ -0,0 +1,385 @@
+package com.projectjam.service;
+
+import com.projectjam.model.SampleRunManifest;
+import com.projectjam.model.ShardPartial;
+import com.projectjam.model.ShardRankQuery;
+import com.projectjam.model.ShardRequest;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 큰 시뮬레이션을 시드가 고정된 반복 구간으로 나눠 피어 백엔드들에 HTTP로 분산하고 결과를 하나로 합친다.
+ *
+ * 샘플은 (시드, 태스크 키, 블록)으로만 정해지므로 구간을 어느 노드가 계산하든 같고, 부분 통계는 청크 순서로 병합하며
+ * 백분위수는 히스토그램 → 구간 값 2단계로 정확히 구하므로 피어 수와 무관하게 같은 결과가 나온다.
+ * 같은 시드의 단일 노드 힙 실행과 비교하면 백분위수, 최솟값/최댓값, 기한 내 완료 확률은 같고, 평균/표준편차는 청크 병합으로
+ * 합산 순서가 달라 반올림 오차만큼 다르며, 분포는 최대 10,000개로 균등 추출되고 태스크 간 상관관계는 비어 있다.
+ * 피어 호출이 실패하면 해당 구간을 코디네이터의 샤드 예산으로 다시 계산하고 결과의 shardFallbacks에 기록한다.
+ * 요청한 클라이언트의 수용 한도에는 코디네이터 자신의 구간만 청구하고, 피어 구간은 각 피어의 샤드 예산에 청구된다.
+ * 피어가 설정되어 있으면 simulation.sharding.token이 필요하다.
+ */
+@Slf4j
+@Service
+public class ShardCoordinatorService {
+
+    private static final String SHARDS_PATH = "/api/risk-analysis/shards";
+    public static final String TOKEN_HEADER = "X-Shard-Token";
+
+    private final ShardService shardService;
+    private final MonteCarloService monteCarloService;
+    private final DurationModelRegistry durationModelRegistry;
+    private final SimulationAdmissionService simulationAdmissionService;
+    private final WebClient webClient;
+    private final List<String> peers;
+
+    @Value("${simulation.sharding.include-self:true}")
+    private boolean includeSelf;
+
+    @Value("${simulation.sharding.max-iterations:50000000}")
+    private int maxIterations;
+
+    @Value("${simulation.sharding.timeout-seconds:600}")
+    private long timeoutSeconds;
+
+    @Value("${simulation.sharding.token:}")
+    private String token;
+
+    public ShardCoordinatorService(ShardService shardService, MonteCarloService monteCarloService,
+                                   DurationModelRegistry durationModelRegistry,
+                                   SimulationAdmissionService simulationAdmissionService,
+                                   @Value("${simulation.sharding.peers:}") String peers,
+                                   @Value("${simulation.sharding.max-response-bytes:268435456}") int maxResponseBytes) {
+        this.shardService = shardService;
+        this.monteCarloService = monteCarloService;
+        this.durationModelRegistry = durationModelRegistry;
+        this.simulationAdmissionService = simulationAdmissionService;
+        this.webClient = WebClient.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .build();
+        this.peers = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            if (!peer.isBlank()) {
+                this.peers.add(peer.trim().replaceAll("/+$", ""));
+            }
+        }
+    }
+
+    @PostConstruct
+    public void checkToken() {
+        // 토큰 없이 피어를 호출하면 피어 엔드포인트가 공개 포트에서 인증 없이 열려 있어야 하므로 기동을 막음
+        if (!peers.isEmpty() && token.isEmpty()) {
+            throw new IllegalStateException("simulation.sharding.token (SHARDING_TOKEN) must be set when simulation.sharding.peers is configured");
+        }
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * 코디네이터 자신이 계산할 구간의 비용 (자신이 구간을 맡지 않으면 0). 요청한 클라이언트의 수용 한도에는 이 몫만 청구한다.
+     */
+    public long estimateLocalCost(int taskCount, int iterations) {
+        List<String> participants = participants();
+        int[] counts = shardIterations(iterations, participants.size());
+        // 코디네이터 자신은 항상 첫 번째 참여자
+        return participants.get(0) == null && counts.length > 0
+                ? SimulationAdmissionService.estimateCost(taskCount, counts[0]) : 0;
+    }
+
+    /**
+     * 구간 하나의 비용 (태스크 수 × 구간 반복 횟수).
+     */
+    public static long estimateShardCost(ShardRequest request) {
+        int taskCount = request.getRun() != null && request.getRun().getTaskKeys() != null
+                ? request.getRun().getTaskKeys().size() : 0;
+        return SimulationAdmissionService.estimateCost(taskCount, Math.max(0, request.getIterationCount()));
+    }
+
+    public SimulationResult simulate(String projectKey, TaskTable table, int iterations, String modelSpec, long seed) {
+        long started = System.nanoTime();
+
+        // 피어마다 보정이 달라지지 않도록 코디네이터의 보정을 함께 전달
+        String spec = durationModelRegistry.resolve(modelSpec);
+        DurationCalibration calibration = durationModelRegistry.requiresCalibration(spec)
+                ? durationModelRegistry.calibration(projectKey) : null;
+        String modelName = durationModelRegistry.create(spec, calibration).getName();
+        SampleRunManifest run = SampleStorageService.toManifest(null, projectKey, table, iterations, seed, modelName);
+        Map<String, double[]> calibrationTables = calibration != null ? calibration.getQuantileTables() : null;
+
+        List<Shard> shards = split(run, calibrationTables);
+        try {
+            // 구간은 반복 순서로 만들어지므로 shards 순서가 곧 병합 순서
+            execute(shards);
+
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            List<ShardPartial> partials = new ArrayList<>(shards.size());
+            for (Shard shard : shards) {
+                min = Math.min(min, shard.partial.getMinTotal());
+                max = Math.max(max, shard.partial.getMaxTotal());
+                partials.add(shard.partial);
+            }
+
+            double[] percentiles = new double[MonteCarloService.reportedPercentiles().length];
+            if (min == max) {
+                Arrays.fill(percentiles, min);
+            } else {
+                percentiles = percentiles(shards, iterations, min, max);
+            }
+
+            SimulationResult result = monteCarloService.buildShardedResult(table, iterations, seed, modelName, partials, percentiles);
+            List<String> fallbacks = new ArrayList<>();
+            for (Shard shard : shards) {
+                if (shard.failedPeer != null) {
+                    fallbacks.add(shard.request.getFromIteration() + "+" + shard.request.getIterationCount() + "@" + shard.failedPeer);
+                }
+            }
+            result.setShardFallbacks(fallbacks);
+            log.info("Sharded simulation of project {}: {} tasks x {} iterations over {} shards ({} remote) in {} ms",
+                    projectKey, table.size(), iterations, shards.size(),
+                    shards.stream().filter(shard -> shard.peer != null).count(), (System.nanoTime() - started) / 1_000_000);
+            return result;
+        } finally {
+            shards.forEach(this::release);
+        }
+    }
+
+    private List<String> participants() {
+        // null은 코디네이터 자신
+        List<String> participants = new ArrayList<>();
+        if (includeSelf || peers.isEmpty()) {
+            participants.add(null);
+        }
+        participants.addAll(peers);
+        return participants;
+    }
+
+    private List<Shard> split(SampleRunManifest run, Map<String, double[]> calibrationTables) {
+        List<String> participants = participants();
+        int[] counts = shardIterations(run.getIterations(), participants.size());
+
+        // 구간 i는 참여자 i에게 배정
+        List<Shard> shards = new ArrayList<>(counts.length);
+        int from = 0;
+        for (int i = 0; i < counts.length; i++) {
+            shards.add(new Shard(participants.get(i), ShardRequest.builder()
+                    .run(run)
+                    .fromIteration(from)
+                    .iterationCount(counts[i])
+                    .calibration(calibrationTables)
+                    .build()));
+            from += counts[i];
+        }
+        return shards;
+    }
+
+    /**
+     * 청크를 노드 수로 고르게 나눈 연속 구간별 반복 횟수. 청크가 노드보다 적으면 구간도 그만큼만 만든다.
+     */
+    private static int[] shardIterations(int iterations, int participants) {
+        int chunks = (iterations + MonteCarloService.SHARD_CHUNK_ITERATIONS - 1) / MonteCarloService.SHARD_CHUNK_ITERATIONS;
+        int shardCount = Math.min(chunks, participants);
+        int[] counts = new int[shardCount];
+        int chunk = 0;
+        for (int i = 0; i < shardCount; i++) {
+            int shardChunks = chunks / shardCount + (i < chunks % shardCount ? 1 : 0);
+            int from = chunk * MonteCarloService.SHARD_CHUNK_ITERATIONS;
+            int to = Math.min(iterations, (chunk + shardChunks) * MonteCarloService.SHARD_CHUNK_ITERATIONS);
+            counts[i] = to - from;
+            chunk += shardChunks;
+        }
+        return counts;
+    }
+
+    private void execute(List<Shard> shards) {
+        // 원격 구간을 먼저 보내고 자신의 구간을 계산하는 동안 기다림
+        for (Shard shard : shards) {
+            if (shard.peer != null) {
+                shard.pending = webClient.post()
+                        .uri(shard.peer + SHARDS_PATH)
+                        .headers(this::addToken)
+                        .bodyValue(shard.request)
+                        .retrieve()
+                        .bodyToMono(ShardPartial.class)
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .toFuture();
+            }
+        }
+        for (Shard shard : shards) {
+            if (shard.peer == null) {
+                shard.partial = shardService.execute(shard.request);
+            }
+        }
+        for (Shard shard : shards) {
+            if (shard.peer != null) {
+                try {
+                    shard.partial = shard.pending.join();
+                } catch (Exception e) {
+                    runLocally(shard, e);
+                }
+            }
+        }
+    }
+
+    private double[] percentiles(List<Shard> shards, int iterations, double min, double max) {
+        long[] histogram = new long[ExactPercentiles.BINS];
+        for (Shard shard : shards) {
+            long[] shardHistogram = histogram(shard, min, max);
+            for (int bin = 0; bin < histogram.length; bin++) {
+                histogram[bin] += shardHistogram[bin];
+            }
+        }
+
+        ExactPercentiles percentiles = ExactPercentiles.of(MonteCarloService.reportedPercentiles(), iterations);
+        Set<Integer> targetBins = percentiles.targetBins(histogram);
+        Map<Integer, double[]> binValues = new HashMap<>();
+        for (Shard shard : shards) {
+            values(shard, min, max, new ArrayList<>(targetBins)).forEach((bin, values) ->
+                    binValues.merge(bin, values, (a, b) -> {
+                        double[] merged = Arrays.copyOf(a, a.length + b.length);
+                        System.arraycopy(b, 0, merged, a.length, b.length);
+                        return merged;
+                    }));
+        }
+        return percentiles.resolve(histogram, binValues);
+    }
+
+    private long[] histogram(Shard shard, double min, double max) {
+        if (shard.peer != null) {
+            try {
+                long[] histogram = webClient.post()
+                        .uri(shard.peer + SHARDS_PATH + "/" + shard.partial.getShardId() + "/histogram")
+                        .headers(this::addToken)
+                        .bodyValue(ShardRankQuery.builder().min(min).max(max).build())
+                        .retrieve()
+                        .bodyToMono(long[].class)
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .block();
+                if (histogram != null && histogram.length == ExactPercentiles.BINS) {
+                    return histogram;
+                }
+                throw new IllegalStateException("Malformed histogram from " + shard.peer);
+            } catch (Exception e) {
+                runLocally(shard, e);
+            }
+        }
+        long[] histogram = shardService.histogram(shard.partial.getShardId(), min, max);
+        if (histogram == null) {
+            runLocally(shard, new IllegalStateException("Shard session expired"));
+            histogram = shardService.histogram(shard.partial.getShardId(), min, max);
+        }
+        return histogram;
+    }
+
+    private Map<Integer, double[]> values(Shard shard, double min, double max, List<Integer> bins) {
+        if (shard.peer != null) {
+            try {
+                Map<Integer, double[]> values = webClient.post()
+                        .uri(shard.peer + SHARDS_PATH + "/" + shard.partial.getShardId() + "/values")
+                        .headers(this::addToken)
+                        .bodyValue(ShardRankQuery.builder().min(min).max(max).bins(bins).build())
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<Map<Integer, double[]>>() {})
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .block();
+                if (values != null) {
+                    shard.released = true;
+                    return values;
+                }
+                throw new IllegalStateException("Empty bin values from " + shard.peer);
+            } catch (Exception e) {
+                runLocally(shard, e);
+            }
+        }
+        Map<Integer, double[]> values = shardService.values(shard.partial.getShardId(), min, max, bins);
+        if (values == null) {
+            runLocally(shard, new IllegalStateException("Shard session expired"));
+            values = shardService.values(shard.partial.getShardId(), min, max, bins);
+        }
+        shard.released = true;
+        return values;
+    }
+
+    private void runLocally(Shard shard, Exception cause) {
+        // 같은 시드로 다시 계산하면 같은 부분 통계와 총합이 나오므로 결과는 달라지지 않음
+        log.warn("Shard {}+{} failed on peer {}, running it locally: {}", shard.request.getFromIteration(),
+                shard.request.getIterationCount(), shard.peer, cause.toString());
+        release(shard);
+        if (shard.peer != null) {
+            shard.failedPeer = shard.peer;
+        }
+        shard.peer = null;
+        shard.released = false;
+        shard.partial = null;
+        // 클라이언트에는 자신의 구간만 청구했으므로 대신 맡은 구간은 코디네이터의 샤드 예산으로 실행 (차 있으면 요청 전체가 503)
+        try (SimulationAdmissionService.Permit permit = simulationAdmissionService.acquireShard(estimateShardCost(shard.request))) {
+            shard.partial = shardService.execute(shard.request);
+        }
+    }
+
+    private void release(Shard shard) {
+        if (shard.released) {
+            return;
+        }
+        if (shard.partial == null) {
+            // 코디네이터 쪽 계산이 실패해 응답을 기다리지 않은 원격 구간은 응답이 오는 대로 세션을 해제
+            if (shard.peer != null && shard.pending != null) {
+                String peer = shard.peer;
+                shard.released = true;
+                shard.pending.thenAccept(partial -> releaseRemote(peer, partial.getShardId()));
+            }
+            return;
+        }
+        shard.released = true;
+        if (shard.peer == null) {
+            shardService.release(shard.partial.getShardId());
+        } else {
+            releaseRemote(shard.peer, shard.partial.getShardId());
+        }
+    }
+
+    private void releaseRemote(String peer, String shardId) {
+        // 피어의 세션은 TTL로도 정리되므로 실패해도 무시
+        webClient.delete()
+                .uri(peer + SHARDS_PATH + "/" + shardId)
+                .headers(this::addToken)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(response -> { }, e -> log.debug("Failed to release shard on {}", peer, e));
+    }
+
+    private void addToken(HttpHeaders headers) {
+        headers.set(TOKEN_HEADER, token);
+    }
+
+    private static final class Shard {
+        private String peer; // null이면 코디네이터에서 실행
+        private String failedPeer; // 호출이 실패해 코디네이터가 대신 계산한 피어
+        private final ShardRequest request;
+        private CompletableFuture<ShardPartial> pending; // 원격 구간 응답
+        private ShardPartial partial;
+        private boolean released;
+
+        private Shard(String peer, ShardRequest request) {
+            this.peer = peer;
+            this.request = request;
+        }
+    }
+}
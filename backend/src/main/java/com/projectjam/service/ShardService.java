@@ -0,0 +1,185 @@
+package com.projectjam.service;
+
+import com.projectjam.model.SampleRunManifest;
+import com.projectjam.model.ShardPartial;
+import com.projectjam.model.ShardRequest;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 분산 시뮬레이션의 반복 구간(샤드)을 실행하는 피어 측 서비스. 코디네이터 자신의 구간도 같은 경로로 실행한다.
+ *
+ * 부분 통계를 반환한 뒤에도 반복별 총합은 세션에 보관했다가, 코디네이터의 히스토그램/구간 값 요청에 답하고 해제한다.
+ * 코디네이터가 사라져도 세션은 session-ttl-seconds 후 정리되며, 보관 총량은 max-held-iterations로 제한한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardService {
+
+    private final MonteCarloService monteCarloService;
+    private final DurationModelRegistry durationModelRegistry;
+
+    @Value("${simulation.sharding.session-ttl-seconds:900}")
+    private long sessionTtlSeconds;
+
+    @Value("${simulation.sharding.max-held-iterations:100000000}")
+    private long maxHeldIterations;
+
+    @Value("${admission.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    private final Map<String, Session> sessions = new LinkedHashMap<>();
+    private long heldIterations;
+
+    public ShardPartial execute(ShardRequest request) {
+        SampleRunManifest run = request.getRun();
+        int from = request.getFromIteration();
+        int count = request.getIterationCount();
+        if (run == null || run.getTaskKeys() == null || run.getIterations() <= 0) {
+            throw new IllegalArgumentException("Shard request has no run");
+        }
+        if (from < 0 || from % MonteCarloService.SHARD_CHUNK_ITERATIONS != 0 || count <= 0
+                || (long) from + count > run.getIterations()) {
+            throw new IllegalArgumentException("Invalid shard range " + from + "+" + count + " of " + run.getIterations());
+        }
+
+        reserve(count);
+        try {
+            TaskTable table = SampleStorageService.toTaskTable(run);
+            DurationCalibration calibration = request.getCalibration() != null
+                    ? new DurationCalibration(request.getCalibration()) : null;
+            DurationModel model = durationModelRegistry.create(run.getDurationModel(), calibration);
+
+            double[] totals = new double[count];
+            ShardPartial partial = monteCarloService.simulateShard(table, model, run.getSeed(), run.getIterations(), from, totals);
+            String shardId = UUID.randomUUID().toString();
+            partial.setShardId(shardId);
+            synchronized (this) {
+                sessions.put(shardId, new Session(totals, System.currentTimeMillis()));
+            }
+            log.debug("Simulated shard {} of project {}: iterations {}+{}, {} tasks", shardId, run.getProjectKey(), from, count, table.size());
+            return partial;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                heldIterations -= count;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * [min, max] 구간 히스토그램. 세션이 없으면 null.
+     */
+    public long[] histogram(String shardId, double min, double max) {
+        double[] totals = totals(shardId);
+        if (totals == null) {
+            return null;
+        }
+        validateRange(min, max);
+        double binWidth = ExactPercentiles.binWidth(min, max);
+        long[] histogram = new long[ExactPercentiles.BINS];
+        for (double x : totals) {
+            histogram[ExactPercentiles.bin(x, min, binWidth)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * 요청한 구간에 속한 총합 값. 마지막 단계이므로 응답 후 세션을 해제한다. 세션이 없으면 null.
+     */
+    public Map<Integer, double[]> values(String shardId, double min, double max, List<Integer> bins) {
+        double[] totals = totals(shardId);
+        if (totals == null) {
+            return null;
+        }
+        validateRange(min, max);
+        double binWidth = ExactPercentiles.binWidth(min, max);
+        int[] counts = new int[ExactPercentiles.BINS];
+        for (double x : totals) {
+            counts[ExactPercentiles.bin(x, min, binWidth)]++;
+        }
+
+        double[][] selected = new double[ExactPercentiles.BINS][];
+        Map<Integer, double[]> values = new HashMap<>();
+        for (int bin : bins) {
+            if (bin < 0 || bin >= ExactPercentiles.BINS) {
+                throw new IllegalArgumentException("Invalid histogram bin: " + bin);
+            }
+            selected[bin] = new double[counts[bin]];
+            values.put(bin, selected[bin]);
+        }
+        int[] filled = new int[ExactPercentiles.BINS];
+        for (double x : totals) {
+            int bin = ExactPercentiles.bin(x, min, binWidth);
+            if (selected[bin] != null) {
+                selected[bin][filled[bin]++] = x;
+            }
+        }
+        release(shardId);
+        return values;
+    }
+
+    public synchronized boolean release(String shardId) {
+        Session session = sessions.remove(shardId);
+        if (session == null) {
+            return false;
+        }
+        heldIterations -= session.totals.length;
+        return true;
+    }
+
+    private static void validateRange(double min, double max) {
+        if (!(min < max)) {
+            throw new IllegalArgumentException("Invalid histogram range [" + min + ", " + max + "]");
+        }
+    }
+
+    private synchronized double[] totals(String shardId) {
+        Session session = sessions.get(shardId);
+        return session != null ? session.totals : null;
+    }
+
+    private synchronized void reserve(int count) {
+        // 만료된 세션 정리 (삽입 순서이므로 앞에서부터 확인)
+        long expiredBefore = System.currentTimeMillis() - sessionTtlSeconds * 1000;
+        Iterator<Map.Entry<String, Session>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Session> entry = iterator.next();
+            if (entry.getValue().createdAt >= expiredBefore) {
+                break;
+            }
+            iterator.remove();
+            heldIterations -= entry.getValue().totals.length;
+            log.info("Expired shard session {}", entry.getKey());
+        }
+
+        if (heldIterations + count > maxHeldIterations) {
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                    "Shard sessions hold " + heldIterations + " iterations");
+        }
+        heldIterations += count;
+    }
+
+    private static final class Session {
+        private final double[] totals;
+        private final long createdAt;
+
+        private Session(double[] totals, long createdAt) {
+            this.totals = totals;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.projectjam.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 시뮬레이션 요청 수용 제어.
+ *
+ * 요청 비용은 태스크 수 × 반복 횟수(샘플 수)로 추정하며, 샘플 행렬 크기와 CPU 시간 모두에 비례한다.
+ * 태스크 간 상관관계를 계산하는 실행은 상관관계 대상(표준편차 상위 simulation.correlations.max-tasks개) 쌍 수 ×
+ * 반복 횟수의 곱셈과 대상 수² 항목의 상관관계 맵 비용을 더한다. 대상 수가 상한으로 묶이므로 태스크가 많은
+ * 프로젝트도 이 항은 일정하다.
+ *
+ * 한도는 원격 주소별(per-address)과 클라이언트별(per-client) 두 단계로 적용한다. 클라이언트는 원격 주소 아래의
+ * X-Client-Id 하위 키이므로, 헤더를 바꿔 가며 보내도 같은 주소의 합계는 주소 한도를 넘을 수 없다.
+ * 어느 한도든 넘으면 즉시 429, 서버 전체 한도가 찬 상태에서 대기열까지 가득 차거나
+ * 대기 시간이 초과되면 503으로 거절한다. 대기열은 FIFO이므로 큰 요청이 뒤따르는 작은 요청에 밀려 굶지 않는다.
+ *
+ * 분산 실행 구간(샤드)은 shard 토큰으로 인증된 코디네이터만 보내므로 클라이언트 한도 대신 별도 샤드 예산을 적용한다.
+ * off-heap 저장 실행(storage: mapped)은 샘플을 디스크에 기록하므로 크기는 디스크 여유 공간 예약(SampleStorageService)으로
+ * 제한하고, 여기서는 전용 동시 실행 수만 제한한다.
+ */
+@Slf4j
+@Service
+public class SimulationAdmissionService {
+
+    // 상관관계 한 쌍 × 반복 한 번(곱셈-덧셈 한 번)은 샘플 하나 생성(난수 + 역분포 계산)의 약 1/8로 환산
+    private static final int CORRELATION_STEP_DIVISOR = 8;
+    // 상관관계 맵 항목 하나(HashMap 노드 + 박싱된 Double, 약 64바이트)는 샘플(8바이트) 8개로 환산
+    static final int CORRELATION_ENTRY_COST = 8;
+    // 백그라운드 작업(사전 계산)의 주소 키. 실제 원격 주소와 겹치지 않음
+    public static final String BACKGROUND_ADDRESS = "background";
+
+    @Value("${admission.max-iterations:1000000}")
+    private int maxIterations;
+
+    @Value("${admission.global-max-concurrent:0}")
+    private int globalMaxConcurrent;
+
+    @Value("${admission.global-cost-budget:100000000}")
+    private long globalCostBudget;
+
+    @Value("${admission.per-client-max-concurrent:2}")
+    private int perClientMaxConcurrent;
+
+    @Value("${admission.per-client-cost-budget:50000000}")
+    private long perClientCostBudget;
+
+    @Value("${admission.per-address-max-concurrent:4}")
+    private int perAddressMaxConcurrent;
+
+    @Value("${admission.per-address-cost-budget:100000000}")
+    private long perAddressCostBudget;
+
+    @Value("${admission.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${admission.queue-timeout-ms:5000}")
+    private long queueTimeoutMs;
+
+    @Value("${admission.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    @Value("${admission.shard-max-concurrent:1}")
+    private int shardMaxConcurrent;
+
+    @Value("${admission.shard-cost-budget:1000000000}")
+    private long shardCostBudget;
+
+    @Value("${admission.storage-max-concurrent:1}")
+    private int storageMaxConcurrent;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition capacityAvailable = lock.newCondition();
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private final Map<String, ClientUsage> clients = new HashMap<>(); // 주소/X-Client-Id
+    private final Map<String, ClientUsage> addresses = new HashMap<>();
+
+    private int inFlight;
+    private long inFlightCost;
+    private final DedicatedUsage shardUsage = new DedicatedUsage();
+    private final DedicatedUsage storageUsage = new DedicatedUsage();
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * 실행 중이거나 대기 중인 시뮬레이션이 없으면 true. 백그라운드 사전 계산이 사용자 요청에 양보할 때 사용한다.
+     */
+    public boolean isIdle() {
+        lock.lock();
+        try {
+            return inFlight == 0 && queue.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 샘플링 비용: 샘플 컬럼 수 × 반복 횟수.
+     */
+    public static long estimateCost(int taskCount, int iterations) {
+        return (long) taskCount * iterations;
+    }
+
+    /**
+     * 샘플링에 상관관계 대상 correlatedTasks개의 상관관계 계산과 맵 비용을 더한 비용.
+     */
+    public static long estimateCostWithCorrelations(int taskCount, int correlatedTasks, int iterations) {
+        return estimateCost(taskCount, iterations) + estimateCorrelationCost(correlatedTasks, iterations);
+    }
+
+    /**
+     * 상관관계 계산(대상 쌍 수 × 반복 횟수)과 상관관계 맵(대상 수² 항목) 비용.
+     */
+    public static long estimateCorrelationCost(int correlatedTasks, int iterations) {
+        long pairs = (long) correlatedTasks * (correlatedTasks - 1) / 2;
+        return pairs * iterations / CORRELATION_STEP_DIVISOR + (long) correlatedTasks * correlatedTasks * CORRELATION_ENTRY_COST;
+    }
+
+    /**
+     * 보관 실행 갱신 비용: 다시 샘플링할 컬럼 changed개와 상관관계 갱신.
+     * 상관관계는 대상이 바뀌면 대상 전체를 다시 계산하므로 대상 correlatedTasks개의 전체 계산 비용으로 잡는다.
+     */
+    public static long estimateRefreshCost(int changed, int correlatedTasks, int iterations) {
+        return estimateCost(changed, iterations) + estimateCorrelationCost(correlatedTasks, iterations);
+    }
+
+    /**
+     * address는 요청의 원격 주소(또는 인증된 주체), clientId는 그 아래의 선택적 하위 키(X-Client-Id).
+     */
+    public Permit acquire(String address, String clientId, long cost) {
+        long requestBudget = Math.min(Math.min(perClientCostBudget, perAddressCostBudget), globalCostBudget);
+        if (cost > requestBudget) {
+            throw new IllegalArgumentException("Simulation cost " + cost + " exceeds the per-request budget of "
+                    + requestBudget + " (tasks x iterations)");
+        }
+        String clientKey = clientId != null && !clientId.isBlank() ? address + "/" + clientId : address;
+
+        lock.lock();
+        try {
+            ClientUsage addressUsage = addresses.computeIfAbsent(address, key -> new ClientUsage());
+            ClientUsage usage = clients.computeIfAbsent(clientKey, key -> new ClientUsage());
+            if (addressUsage.requests >= perAddressMaxConcurrent || addressUsage.cost + cost > perAddressCostBudget) {
+                removeIfIdle(clientKey, usage, address, addressUsage);
+                log.warn("Rejecting simulation from {}: address budget exceeded ({} requests, cost {})",
+                        clientKey, addressUsage.requests, addressUsage.cost);
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                        "Address " + address + " exceeded its concurrent simulation budget");
+            }
+            if (usage.requests >= perClientMaxConcurrent || usage.cost + cost > perClientCostBudget) {
+                removeIfIdle(clientKey, usage, address, addressUsage);
+                log.warn("Rejecting simulation from {}: client budget exceeded ({} requests, cost {})", clientKey, usage.requests, usage.cost);
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                        "Client " + clientKey + " exceeded its concurrent simulation budget");
+            }
+
+            // 대기 중인 요청이 없고 여유가 있으면 바로 수용
+            if (queue.isEmpty() && fits(cost)) {
+                return admit(clientKey, usage, address, addressUsage, cost);
+            }
+
+            if (queue.size() >= queueCapacity) {
+                removeIfIdle(clientKey, usage, address, addressUsage);
+                log.warn("Rejecting simulation from {}: queue full ({} waiting, {} in flight)", clientKey, queue.size(), inFlight);
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                        "Simulation queue is full");
+            }
+
+            // 대기하는 동안에도 주소/클라이언트 한도를 점유해 한 클라이언트가 대기열을 독차지하지 못하게 함
+            Object waiter = new Object();
+            queue.addLast(waiter);
+            usage.requests++;
+            usage.cost += cost;
+            addressUsage.requests++;
+            addressUsage.cost += cost;
+
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+            AdmissionRejectedException rejection = null;
+            try {
+                while (queue.peekFirst() != waiter || !fits(cost)) {
+                    if (remainingNanos <= 0) {
+                        rejection = new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                                "Timed out waiting for simulation capacity");
+                        break;
+                    }
+                    remainingNanos = capacityAvailable.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejection = new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                        "Interrupted while waiting for simulation capacity");
+            }
+
+            if (rejection != null) {
+                queue.remove(waiter);
+                release(clientKey, address, cost, false);
+                throw rejection;
+            }
+
+            queue.removeFirst();
+            usage.requests--;
+            usage.cost -= cost;
+            addressUsage.requests--;
+            addressUsage.cost -= cost;
+            Permit permit = admit(clientKey, usage, address, addressUsage, cost);
+            // 다음 대기자가 바로 이어서 들어올 수 있는지 확인하도록 깨움
+            capacityAvailable.signalAll();
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 백그라운드 작업용 낮은 우선순위 수용. 대기 중인 요청이 없고 서버 전체 여유가 있을 때만 바로 수용하며,
+     * 그렇지 않으면 대기열에 들어가지 않고 null을 반환해 사용자 요청보다 앞서거나 자리를 차지하지 않는다.
+     * 주소별/클라이언트별 한도는 BACKGROUND_ADDRESS에 적용한다.
+     */
+    public Permit tryAcquireBackground(long cost) {
+        long requestBudget = Math.min(Math.min(perClientCostBudget, perAddressCostBudget), globalCostBudget);
+        if (cost > requestBudget) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            ClientUsage addressUsage = addresses.computeIfAbsent(BACKGROUND_ADDRESS, key -> new ClientUsage());
+            ClientUsage usage = clients.computeIfAbsent(BACKGROUND_ADDRESS, key -> new ClientUsage());
+            if (!queue.isEmpty() || !fits(cost)
+                    || addressUsage.requests >= perAddressMaxConcurrent || addressUsage.cost + cost > perAddressCostBudget
+                    || usage.requests >= perClientMaxConcurrent || usage.cost + cost > perClientCostBudget) {
+                removeIfIdle(BACKGROUND_ADDRESS, usage, BACKGROUND_ADDRESS, addressUsage);
+                return null;
+            }
+            return admit(BACKGROUND_ADDRESS, usage, BACKGROUND_ADDRESS, addressUsage, cost);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 분산 실행 구간(샤드)용 수용. 구간은 요청당 한도보다 클 수 있으며 샤드 예산(shard-cost-budget, shard-max-concurrent)으로만
+     * 제한한다. 서버 전체 동시 실행 수에는 포함되지만 비용 한도와는 별개이고, 예산이 차 있으면 대기하지 않고 503으로 거절한다.
+     */
+    public Permit acquireShard(long cost) {
+        if (cost > shardCostBudget) {
+            throw new IllegalArgumentException("Shard cost " + cost + " exceeds the shard budget of " + shardCostBudget);
+        }
+
+        return acquireDedicated("shard", shardUsage, shardMaxConcurrent, shardCostBudget, cost);
+    }
+
+    /**
+     * off-heap 저장 실행용 수용. 요청당 비용 한도 대신 저장 실행 전용 동시 실행 수(storage-max-concurrent)만 적용하며,
+     * 샘플 파일 크기는 호출자가 디스크 여유 공간을 예약해 제한한다. 서버 전체 동시 실행 수에는 포함된다.
+     */
+    public Permit acquireStorage(long cost) {
+        return acquireDedicated("storage", storageUsage, storageMaxConcurrent, Long.MAX_VALUE, cost);
+    }
+
+    private Permit acquireDedicated(String name, DedicatedUsage pool, int maxConcurrent, long costBudget, long cost) {
+        lock.lock();
+        try {
+            if (pool.requests >= maxConcurrent || pool.cost + cost > costBudget) {
+                log.warn("Rejecting {} run: {} budget exceeded ({} runs, cost {})", name, name, pool.requests, pool.cost);
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds,
+                        "The " + name + " budget is exhausted");
+            }
+            inFlight++;
+            pool.requests++;
+            pool.cost += cost;
+            return new Permit(pool, cost);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(long cost) {
+        int maxConcurrent = globalMaxConcurrent > 0 ? globalMaxConcurrent : Runtime.getRuntime().availableProcessors();
+        return inFlight < maxConcurrent && inFlightCost + cost <= globalCostBudget;
+    }
+
+    private Permit admit(String clientKey, ClientUsage usage, String address, ClientUsage addressUsage, long cost) {
+        inFlight++;
+        inFlightCost += cost;
+        usage.requests++;
+        usage.cost += cost;
+        addressUsage.requests++;
+        addressUsage.cost += cost;
+        return new Permit(clientKey, address, cost);
+    }
+
+    private void release(String clientKey, String address, long cost, boolean admitted) {
+        if (admitted) {
+            inFlight--;
+            inFlightCost -= cost;
+        }
+        ClientUsage usage = clients.get(clientKey);
+        ClientUsage addressUsage = addresses.get(address);
+        usage.requests--;
+        usage.cost -= cost;
+        addressUsage.requests--;
+        addressUsage.cost -= cost;
+        removeIfIdle(clientKey, usage, address, addressUsage);
+        capacityAvailable.signalAll();
+    }
+
+    private void releaseDedicated(DedicatedUsage pool, long cost) {
+        inFlight--;
+        pool.requests--;
+        pool.cost -= cost;
+        capacityAvailable.signalAll();
+    }
+
+    private void removeIfIdle(String clientKey, ClientUsage usage, String address, ClientUsage addressUsage) {
+        if (usage.requests == 0) {
+            clients.remove(clientKey);
+        }
+        if (addressUsage.requests == 0) {
+            addresses.remove(address);
+        }
+    }
+
+    /**
+     * 수용된 요청의 실행 권한. try-with-resources로 반드시 반환한다.
+     */
+    public final class Permit implements AutoCloseable {
+        private final String clientKey;
+        private final String address;
+        private final DedicatedUsage pool; // 샤드/저장 실행 전용 예산의 허가면 그 사용량, 아니면 null
+        private final long cost;
+        private boolean released;
+
+        private Permit(String clientKey, String address, long cost) {
+            this.clientKey = clientKey;
+            this.address = address;
+            this.pool = null;
+            this.cost = cost;
+        }
+
+        private Permit(DedicatedUsage pool, long cost) {
+            this.clientKey = null;
+            this.address = null;
+            this.pool = pool;
+            this.cost = cost;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!released) {
+                    released = true;
+                    if (pool != null) {
+                        releaseDedicated(pool, cost);
+                    } else {
+                        release(clientKey, address, cost, true);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class ClientUsage {
+        private int requests; // 실행 중 + 대기 중
+        private long cost;
+    }
+
+    private static final class DedicatedUsage {
+        private int requests; // 실행 중 (대기하지 않음)
+        private long cost;
+    }
+}
@@ -0,0 +1,595 @@
+package com.projectjam.service;
+
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.SimulationSnapshot;
+import com.projectjam.model.SimulationTrend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * 프로젝트별 시뮬레이션 요약을 append-only 파일에 누적 저장하는 히스토리 저장소.
+ *
+ * 파일 포맷 (프로젝트당 1개, big-endian):
+ * [int magic][int bodyLength][body][int crc32(body)] 레코드의 연속.
+ * 기동 시 중간의 손상된 레코드는 다음 magic으로 건너뛰고, 기록 도중 중단된 꼬리 레코드만 잘라낸다.
+ * 추세 조회에 필요한 요약 컬럼은 기동 시 메모리 인덱스로 올려 두고,
+ * 태스크별 통계가 필요한 상세 조회만 파일 오프셋으로 직접 읽는다.
+ * 모델과 반복 횟수가 다른 실행은 분포가 달라 비교할 수 없으므로 추세는 (모델, 반복 횟수)가 같은 기록끼리만 계산한다.
+ */
+@Slf4j
+@Service
+public class SimulationHistoryService {
+
+    private static final int RECORD_MAGIC = 0x534E4150; // "SNAP"
+    private static final int HEADER_SIZE = 8;
+    private static final int CRC_SIZE = 4;
+    private static final int QUANTILE_STEPS = 20; // 5% 간격
+    private static final String FILE_SUFFIX = ".hist";
+    private static final Pattern PROJECT_KEY_PATTERN = Pattern.compile("[A-Za-z0-9_\\-]+");
+    private static final double MILLIS_PER_WEEK = 7 * 24 * 3600 * 1000.0;
+
+    @Value("${history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${history.dir:./data/history}")
+    private String historyDir;
+
+    @Value("${history.fsync:false}")
+    private boolean fsync;
+
+    private final Map<String, ProjectHistory> histories = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadIndexes() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Path dir = Paths.get(historyDir);
+            Files.createDirectories(dir);
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    String projectKey = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+                    histories.put(projectKey, openHistory(projectKey, file));
+                }
+            }
+            log.info("Loaded simulation history for {} projects from {}", histories.size(), dir.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to load simulation history from {}", historyDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (ProjectHistory history : histories.values()) {
+            synchronized (history) {
+                try {
+                    history.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close history file: {}", history.path, e);
+                }
+            }
+        }
+    }
+
+    public void record(String projectKey, SimulationResult result) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            ProjectHistory history = getOrCreateHistory(projectKey);
+            ByteBuffer body = encodeSnapshot(System.currentTimeMillis(), result);
+
+            synchronized (history) {
+                // 인덱스가 항상 정렬되도록 시계가 역행해도 직전 시각 이후로 기록
+                long timestamp = Math.max(body.getLong(0), history.lastTimestamp());
+                body.putLong(0, timestamp);
+
+                long offset = history.channel.size();
+                writeFully(history.channel, frame(body), offset);
+                if (fsync) {
+                    history.channel.force(false);
+                }
+                history.add(timestamp, offset, result.getTotalSimulations(), modelName(result), result.getP50Duration(),
+                        result.getP80Duration(), result.getP90Duration(), result.getMeanDuration(), result.getStandardDeviation(),
+                        taskCount(result));
+            }
+        } catch (IOException | RuntimeException e) {
+            // 히스토리 기록 실패(잘못된 프로젝트 키 포함)가 이미 계산된 시뮬레이션 응답을 막지 않도록 로그만 남김
+            log.error("Failed to record simulation history for project: {}", projectKey, e);
+        }
+    }
+
+    public List<SimulationSnapshot> getSnapshots(String projectKey, LocalDateTime from, LocalDateTime to) {
+        validateProjectKey(projectKey);
+        ProjectHistory history = histories.get(projectKey);
+        if (history == null) {
+            return Collections.emptyList();
+        }
+
+        try {
+            List<SimulationSnapshot> snapshots = new ArrayList<>();
+            synchronized (history) {
+                int start = history.lowerBound(toMillis(from, Long.MIN_VALUE));
+                int end = history.lowerBound(toMillis(to, Long.MAX_VALUE - 1) + 1);
+                for (int i = start; i < end; i++) {
+                    snapshots.add(readSnapshot(history, i));
+                }
+            }
+            return snapshots;
+        } catch (IOException e) {
+            log.error("Error reading simulation history for project: {}", projectKey, e);
+            throw new RuntimeException("Failed to read simulation history", e);
+        }
+    }
+
+    /**
+     * 기간 내 (모델, 반복 횟수)가 같은 기록의 추세. durationModel/iterations가 null이면 기간 내 마지막 기록의 값을 사용한다.
+     */
+    public SimulationTrend getTrend(String projectKey, LocalDateTime from, LocalDateTime to,
+                                    String durationModel, Integer iterations) {
+        validateProjectKey(projectKey);
+        ProjectHistory history = histories.get(projectKey);
+
+        List<SimulationTrend.TrendPoint> points = new ArrayList<>();
+        double p80Change = 0;
+        double p80WeeklySlope = 0;
+
+        if (history != null) {
+            synchronized (history) {
+                int start = history.lowerBound(toMillis(from, Long.MIN_VALUE));
+                int end = history.lowerBound(toMillis(to, Long.MAX_VALUE - 1) + 1);
+                if (end > start) {
+                    if (durationModel == null) {
+                        durationModel = history.models[end - 1];
+                    }
+                    if (iterations == null) {
+                        iterations = history.iterations[end - 1];
+                    }
+                }
+
+                List<Integer> selected = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    if (history.iterations[i] == iterations && history.models[i].equals(durationModel)) {
+                        selected.add(i);
+                    }
+                }
+
+                for (int i : selected) {
+                    points.add(SimulationTrend.TrendPoint.builder()
+                            .recordedAt(toLocalDateTime(history.timestamps[i]))
+                            .p50Duration(history.p50[i])
+                            .p80Duration(history.p80[i])
+                            .p90Duration(history.p90[i])
+                            .meanDuration(history.mean[i])
+                            .standardDeviation(history.std[i])
+                            .taskCount(history.taskCounts[i])
+                            .build());
+                }
+
+                if (selected.size() >= 2) {
+                    p80Change = history.p80[selected.get(selected.size() - 1)] - history.p80[selected.get(0)];
+                    p80WeeklySlope = leastSquaresSlope(history.timestamps, history.p80, selected) * MILLIS_PER_WEEK;
+                }
+            }
+        }
+
+        return SimulationTrend.builder()
+                .projectKey(projectKey)
+                .from(from)
+                .to(to)
+                .durationModel(durationModel)
+                .totalSimulations(iterations)
+                .points(points)
+                .p80Change(p80Change)
+                .p80WeeklySlope(p80WeeklySlope)
+                .build();
+    }
+
+    private ProjectHistory getOrCreateHistory(String projectKey) throws IOException {
+        validateProjectKey(projectKey);
+        ProjectHistory history = histories.get(projectKey);
+        if (history != null) {
+            return history;
+        }
+
+        synchronized (histories) {
+            history = histories.get(projectKey);
+            if (history == null) {
+                Path dir = Paths.get(historyDir);
+                Files.createDirectories(dir);
+                history = openHistory(projectKey, dir.resolve(projectKey + FILE_SUFFIX));
+                histories.put(projectKey, history);
+            }
+            return history;
+        }
+    }
+
+    private ProjectHistory openHistory(String projectKey, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ProjectHistory history = new ProjectHistory(projectKey, path, channel);
+
+        long fileSize = channel.size();
+        long offset = 0;
+        while (offset < fileSize) {
+            ByteBuffer record = readRecord(channel, offset, fileSize);
+            if (record == null) {
+                // 중간 레코드가 손상됐으면 다음 유효 레코드로 건너뛰고, 뒤에 유효 레코드가 없으면 꼬리로 보고 잘라냄
+                long next = nextRecordOffset(channel, offset + 1, fileSize);
+                if (next < 0) {
+                    break;
+                }
+                log.warn("Skipping {} corrupt bytes in history file {} at offset {}", next - offset, path, offset);
+                offset = next;
+                continue;
+            }
+
+            // 추세 조회용 요약 컬럼만 인덱스에 올림
+            int bodyLength = record.limit() - CRC_SIZE;
+            long timestamp = record.getLong();
+            int totalSimulations = record.getInt();
+            int taskCount = record.getInt();
+            double p50 = record.getDouble();
+            double p80 = record.getDouble();
+            double p90 = record.getDouble();
+            double mean = record.getDouble();
+            double std = record.getDouble();
+            record.getDouble(); // min
+            record.getDouble(); // max
+            String model = readString(record);
+            if (timestamp >= history.lastTimestamp()) {
+                history.add(timestamp, offset, totalSimulations, model, p50, p80, p90, mean, std, taskCount);
+            }
+
+            offset += HEADER_SIZE + bodyLength + CRC_SIZE;
+        }
+
+        if (offset < fileSize) {
+            // 기록 도중 중단된 꼬리 레코드는 잘라내고 이어서 append
+            log.warn("Truncating incomplete tail of history file {} at offset {} (size {})", path, offset, fileSize);
+            channel.truncate(offset);
+        }
+
+        return history;
+    }
+
+    /**
+     * offset에서 시작하는 완전하고 CRC가 맞는 레코드의 [body][crc]. 아니면 null.
+     */
+    private ByteBuffer readRecord(FileChannel channel, long offset, long fileSize) throws IOException {
+        if (offset + HEADER_SIZE > fileSize) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, offset);
+        int magic = header.getInt();
+        int bodyLength = header.getInt();
+        if (magic != RECORD_MAGIC || bodyLength <= 0 || offset + HEADER_SIZE + bodyLength + CRC_SIZE > fileSize) {
+            return null;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(bodyLength + CRC_SIZE);
+        readFully(channel, record, offset + HEADER_SIZE);
+        return crc(record, bodyLength) == record.getInt(bodyLength) ? record : null;
+    }
+
+    /**
+     * from 이후 처음으로 유효한 레코드가 시작되는 위치. 없으면 -1.
+     */
+    private long nextRecordOffset(FileChannel channel, long from, long fileSize) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position + HEADER_SIZE <= fileSize) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), fileSize - position));
+            readFully(channel, chunk, position);
+            // 청크 경계에 걸친 magic도 찾도록 마지막 3바이트는 다음 청크에서 다시 확인
+            int scanned = chunk.limit() - 3;
+            for (int i = 0; i < scanned; i++) {
+                if (chunk.getInt(i) == RECORD_MAGIC && readRecord(channel, position + i, fileSize) != null) {
+                    return position + i;
+                }
+            }
+            position += Math.max(1, scanned);
+        }
+        return -1;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of history file at offset " + position);
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private SimulationSnapshot readSnapshot(ProjectHistory history, int index) throws IOException {
+        long offset = history.offsets[index];
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(history.channel, header, offset);
+        header.getInt(); // magic
+        int bodyLength = header.getInt();
+
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        readFully(history.channel, body, offset + HEADER_SIZE);
+
+        SimulationSnapshot.SimulationSnapshotBuilder builder = SimulationSnapshot.builder()
+                .projectKey(history.projectKey)
+                .recordedAt(toLocalDateTime(body.getLong()))
+                .totalSimulations(body.getInt())
+                .taskCount(body.getInt())
+                .p50Duration(body.getDouble())
+                .p80Duration(body.getDouble())
+                .p90Duration(body.getDouble())
+                .meanDuration(body.getDouble())
+                .standardDeviation(body.getDouble())
+                .minDuration(body.getDouble())
+                .maxDuration(body.getDouble())
+                .durationModel(readString(body));
+
+        double[] quantiles = new double[body.getInt()];
+        for (int i = 0; i < quantiles.length; i++) {
+            quantiles[i] = body.getDouble();
+        }
+
+        int taskStatCount = body.getInt();
+        List<SimulationSnapshot.TaskSnapshot> taskStats = new ArrayList<>(taskStatCount);
+        for (int i = 0; i < taskStatCount; i++) {
+            byte[] keyBytes = new byte[body.getShort() & 0xFFFF];
+            body.get(keyBytes);
+            taskStats.add(SimulationSnapshot.TaskSnapshot.builder()
+                    .taskKey(new String(keyBytes, StandardCharsets.UTF_8))
+                    .meanDuration(body.getFloat())
+                    .variability(body.getFloat())
+                    .completionProbability(body.getFloat())
+                    .build());
+        }
+
+        return builder.quantiles(quantiles).taskStats(taskStats).build();
+    }
+
+    private ByteBuffer encodeSnapshot(long timestamp, SimulationResult result) {
+        double[] quantiles = computeQuantiles(result.getDurationDistribution());
+
+        List<SimulationResult.TaskAnalysis> analyses = result.getTaskAnalyses() != null
+                ? new ArrayList<>(result.getTaskAnalyses().values())
+                : new ArrayList<>();
+        analyses.sort((a1, a2) -> a1.getTaskKey().compareTo(a2.getTaskKey()));
+
+        byte[] model = modelName(result).getBytes(StandardCharsets.UTF_8);
+        List<byte[]> keys = new ArrayList<>(analyses.size());
+        int size = 8 + 4 + 4 + 7 * 8 + 2 + model.length + 4 + quantiles.length * 8 + 4;
+        for (SimulationResult.TaskAnalysis analysis : analyses) {
+            byte[] keyBytes = analysis.getTaskKey().getBytes(StandardCharsets.UTF_8);
+            keys.add(keyBytes);
+            size += 2 + keyBytes.length + 3 * 4;
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(timestamp);
+        body.putInt(result.getTotalSimulations());
+        body.putInt(taskCount(result));
+        body.putDouble(result.getP50Duration());
+        body.putDouble(result.getP80Duration());
+        body.putDouble(result.getP90Duration());
+        body.putDouble(result.getMeanDuration());
+        body.putDouble(result.getStandardDeviation());
+        body.putDouble(result.getMinDuration());
+        body.putDouble(result.getMaxDuration());
+        body.putShort((short) model.length);
+        body.put(model);
+
+        body.putInt(quantiles.length);
+        for (double quantile : quantiles) {
+            body.putDouble(quantile);
+        }
+
+        body.putInt(analyses.size());
+        for (int i = 0; i < analyses.size(); i++) {
+            SimulationResult.TaskAnalysis analysis = analyses.get(i);
+            body.putShort((short) keys.get(i).length);
+            body.put(keys.get(i));
+            body.putFloat((float) analysis.getEstimatedDuration());
+            body.putFloat((float) analysis.getVariability());
+            body.putFloat((float) analysis.getCompletionProbability());
+        }
+
+        body.flip();
+        return body;
+    }
+
+    private ByteBuffer frame(ByteBuffer body) {
+        int bodyLength = body.remaining();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + bodyLength + CRC_SIZE);
+        record.putInt(RECORD_MAGIC);
+        record.putInt(bodyLength);
+        record.put(body.duplicate());
+        record.putInt(crc(body, bodyLength));
+        record.flip();
+        return record;
+    }
+
+    private int crc(ByteBuffer buffer, int length) {
+        CRC32 crc32 = new CRC32();
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(0).limit(length);
+        crc32.update(slice);
+        return (int) crc32.getValue();
+    }
+
+    private double[] computeQuantiles(List<Double> distribution) {
+        if (distribution == null || distribution.isEmpty()) {
+            return new double[0];
+        }
+
+        double[] sorted = distribution.stream().mapToDouble(d -> d).toArray();
+        Arrays.sort(sorted);
+
+        double[] quantiles = new double[QUANTILE_STEPS + 1];
+        for (int k = 0; k <= QUANTILE_STEPS; k++) {
+            double position = (double) k / QUANTILE_STEPS * (sorted.length - 1);
+            int lower = (int) Math.floor(position);
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            quantiles[k] = sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+        }
+        return quantiles;
+    }
+
+    private double leastSquaresSlope(long[] x, double[] y, List<Integer> indices) {
+        int n = indices.size();
+        long origin = x[indices.get(0)];
+        double meanX = 0, meanY = 0;
+        for (int i : indices) {
+            meanX += (x[i] - origin);
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+
+        double num = 0, den = 0;
+        for (int i : indices) {
+            double dx = (x[i] - origin) - meanX;
+            num += dx * (y[i] - meanY);
+            den += dx * dx;
+        }
+        return den == 0 ? 0.0 : num / den;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String modelName(SimulationResult result) {
+        return result.getDurationModel() != null ? result.getDurationModel() : "";
+    }
+
+    private int taskCount(SimulationResult result) {
+        return result.getTaskAnalyses() != null ? result.getTaskAnalyses().size() : 0;
+    }
+
+    private void validateProjectKey(String projectKey) {
+        if (projectKey == null || !PROJECT_KEY_PATTERN.matcher(projectKey).matches()) {
+            throw new IllegalArgumentException("Invalid project key: " + projectKey);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime, long defaultValue) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : defaultValue;
+    }
+
+    private LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * 프로젝트 하나의 열린 파일 채널과 타임스탬프 정렬된 요약 컬럼 인덱스.
+     */
+    private static final class ProjectHistory {
+        private final String projectKey;
+        private final Path path;
+        private final FileChannel channel;
+
+        private int size;
+        private long[] timestamps = new long[16];
+        private long[] offsets = new long[16];
+        private int[] iterations = new int[16];
+        private String[] models = new String[16];
+        private double[] p50 = new double[16];
+        private double[] p80 = new double[16];
+        private double[] p90 = new double[16];
+        private double[] mean = new double[16];
+        private double[] std = new double[16];
+        private int[] taskCounts = new int[16];
+
+        private ProjectHistory(String projectKey, Path path, FileChannel channel) {
+            this.projectKey = projectKey;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void add(long timestamp, long offset, int iterationCount, String model, double p50Value, double p80Value,
+                         double p90Value, double meanValue, double stdValue, int taskCount) {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                iterations = Arrays.copyOf(iterations, capacity);
+                models = Arrays.copyOf(models, capacity);
+                p50 = Arrays.copyOf(p50, capacity);
+                p80 = Arrays.copyOf(p80, capacity);
+                p90 = Arrays.copyOf(p90, capacity);
+                mean = Arrays.copyOf(mean, capacity);
+                std = Arrays.copyOf(std, capacity);
+                taskCounts = Arrays.copyOf(taskCounts, capacity);
+            }
+            timestamps[size] = timestamp;
+            offsets[size] = offset;
+            iterations[size] = iterationCount;
+            models[size] = model;
+            p50[size] = p50Value;
+            p80[size] = p80Value;
+            p90[size] = p90Value;
+            mean[size] = meanValue;
+            std[size] = stdValue;
+            taskCounts[size] = taskCount;
+            size++;
+        }
+
+        private long lastTimestamp() {
+            return size > 0 ? timestamps[size - 1] : Long.MIN_VALUE;
+        }
+
+        // timestamp 이상인 첫 인덱스 (없으면 size)
+        private int lowerBound(long timestamp) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.projectjam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.duration.DurationModel;
+import com.projectjam.service.duration.EmpiricalDurationModel;
+import com.projectjam.service.duration.IssueTypeDurationModel;
+import com.projectjam.service.duration.LognormalDurationModel;
+import com.projectjam.service.duration.PertDurationModel;
+import com.projectjam.service.duration.TriangularDurationModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 기동 직후 Monte Carlo 핫 루프와 결과 직렬화를 합성 데이터로 반복 실행해 JIT 컴파일을 끝내 둔다.
+ *
+ * ApplicationRunner는 Spring Boot가 readiness를 ACCEPTING_TRAFFIC으로 바꾸기 전에 실행되므로,
+ * 워밍업이 끝날 때까지 /api/risk-analysis/health는 503을 반환하고 오토스케일링된 복제본에 트래픽이 들어오지 않는다.
+ * Jira, 히스토리, 수용 제어는 거치지 않는다.
+ *
+ * simulation.warmup.exit-after가 켜져 있으면 AppCDS 학습 실행으로 보고, readiness가 ACCEPTING_TRAFFIC으로 바뀐 뒤
+ * 자기 자신에게 health/simulate HTTP 요청을 한 번씩 보내 요청 처리 경로(Tomcat, MVC, Jackson 역직렬화, 컨트롤러)의
+ * 클래스까지 로드한 다음 종료한다. 워밍업 중에 보내면 health가 503 경로만 타므로 readiness 이후에 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SimulationWarmupService implements ApplicationRunner {
+
+    private static final String[] PRIORITIES = {"Highest", "High", "Medium", "Low", "Lowest"};
+    private static final String[] ISSUE_TYPES = {"Story", "Task", "Bug"};
+
+    private final MonteCarloService monteCarloService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final Environment environment;
+
+    @Value("${simulation.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${simulation.warmup.tasks:200}")
+    private int taskCount;
+
+    @Value("${simulation.warmup.iterations:10000}")
+    private int iterations;
+
+    @Value("${simulation.warmup.rounds:20}")
+    private int rounds;
+
+    @Value("${simulation.warmup.max-millis:30000}")
+    private long maxMillis;
+
+    @Value("${simulation.warmup.exit-after:false}")
+    private boolean exitAfter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        TaskTable table = syntheticTable();
+        DurationModel[] models = syntheticModels();
+        long started = System.nanoTime();
+        long deadline = started + maxMillis * 1_000_000L;
+        long bytes = 0;
+        int completed = 0;
+
+        try {
+            for (int round = 0; round < rounds && System.nanoTime() < deadline; round++) {
+                // 모든 분포 구현의 fill 루프가 컴파일되도록 모델을 돌아가며 실행
+                SimulationResult result = monteCarloService.runSimulation(table, iterations,
+                        models[round % models.length], round);
+                bytes += objectMapper.writeValueAsBytes(result).length;
+                completed++;
+            }
+            log.info("Simulation warm-up finished: {} rounds of {} tasks x {} iterations in {} ms ({} bytes serialized)",
+                    completed, taskCount, iterations, (System.nanoTime() - started) / 1_000_000, bytes);
+        } catch (Exception e) {
+            // 워밍업 실패로 기동이 막히지 않도록 로그만 남김
+            log.warn("Simulation warm-up failed after {} rounds", completed, e);
+        }
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (!enabled || !exitAfter || event.getState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+        // 이벤트를 발행한 기동 스레드를 막지 않도록 별도 스레드에서 자기 호출 후 종료
+        Thread training = new Thread(() -> {
+            exerciseRequestPath();
+            log.info("AppCDS training run finished, exiting");
+            System.exit(SpringApplication.exit(applicationContext));
+        }, "appcds-training");
+        training.start();
+    }
+
+    /**
+     * 학습 실행에서 요청 처리 경로의 클래스를 로드하기 위한 자기 호출. 응답 코드는 확인하지 않는다
+     * (학습 실행은 Jira 없이 돌기 때문에 simulate는 오류 응답이 정상이다).
+     */
+    private void exerciseRequestPath() {
+        String baseUrl = "http://localhost:" + environment.getProperty("local.server.port", "8080") + "/api/risk-analysis";
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest[] requests = {
+                HttpRequest.newBuilder(URI.create(baseUrl + "/health")).timeout(Duration.ofSeconds(10)).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/projects/WARMUP/simulate"))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"numSimulations\": " + iterations + "}"))
+                        .build()
+        };
+        for (HttpRequest request : requests) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                log.info("Training request {} {} -> {}", request.method(), request.uri().getPath(), response.statusCode());
+            } catch (Exception e) {
+                log.warn("Training request {} {} failed", request.method(), request.uri().getPath(), e);
+            }
+        }
+    }
+
+    private TaskTable syntheticTable() {
+        TaskTable.Builder builder = TaskTable.builder(false);
+        for (int i = 0; i < taskCount; i++) {
+            Integer estimate = i % 7 == 0 ? null : (1 + i % 40) * 3600;
+            builder.add("WARMUP-" + (i + 1), "To Do", PRIORITIES[i % PRIORITIES.length],
+                    ISSUE_TYPES[i % ISSUE_TYPES.length], i % 5 == 0 ? null : "user" + (i % 10),
+                    TaskTable.NO_DATE, TaskTable.NO_DATE, estimate, null, null);
+        }
+        return builder.build();
+    }
+
+    private DurationModel[] syntheticModels() {
+        DurationModel triangular = new TriangularDurationModel();
+        DurationModel pert = new PertDurationModel();
+        DurationModel lognormal = new LognormalDurationModel();
+        DurationModel empirical = new EmpiricalDurationModel(syntheticCalibration(), triangular);
+        return new DurationModel[]{
+                triangular, pert, lognormal, empirical,
+                new IssueTypeDurationModel(pert, Map.of("Bug", lognormal, "Task", empirical))
+        };
+    }
+
+    private DurationCalibration syntheticCalibration() {
+        double[] ratios = new double[101];
+        for (int k = 0; k < ratios.length; k++) {
+            ratios[k] = 0.5 + 2.5 * k / (ratios.length - 1);
+        }
+        return new DurationCalibration(Map.of(
+                DurationCalibration.segmentKey(DurationCalibration.ANY, DurationCalibration.ANY, DurationCalibration.ANY), ratios));
+    }
+}
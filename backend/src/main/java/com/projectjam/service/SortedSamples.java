@@ -0,0 +1,60 @@
+package com.projectjam.service;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 샘플 배열에 대한 분위수/누적확률 조회. 모두 O(log n) 이하이며 배열을 수정하지 않는다.
+ */
+public final class SortedSamples {
+
+    private SortedSamples() {
+    }
+
+    public static double[] sortedCopy(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * p(0-1) 분위수. 시뮬레이션 결과의 P50/P80/P90과 같도록 DescriptiveStatistics 기본 추정법(pos = p(n + 1))을 사용.
+     */
+    public static double quantile(double[] sorted, double p) {
+        int n = sorted.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double position = p * (n + 1);
+        if (position < 1) {
+            return sorted[0];
+        }
+        if (position >= n) {
+            return sorted[n - 1];
+        }
+        int lower = (int) Math.floor(position);
+        double fraction = position - lower;
+        return sorted[lower - 1] + fraction * (sorted[lower] - sorted[lower - 1]);
+    }
+
+    /**
+     * x 이하인 샘플의 비율 P(X <= x).
+     */
+    public static double cdf(double[] sorted, double x) {
+        int n = sorted.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        // x보다 큰 첫 원소의 위치 (upper bound)
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (double) low / n;
+    }
+}
@@ -0,0 +1,21 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskTable;
+
+/**
+ * 태스크 소요시간 분포 모델 SPI.
+ *
+ * 모델은 태스크마다 한 번 prepare를 호출해 파라미터를 미리 계산한 TaskDistribution을 만들고,
+ * 시뮬레이션 루프는 그 분포로 샘플 블록을 한 번에 채운다. 따라서 샘플당 가상 호출이나 객체 생성이 없다.
+ */
+public interface DurationModel {
+
+    String getName();
+
+    /**
+     * @param table             태스크 테이블
+     * @param row               태스크 행
+     * @param estimatedDuration 기준 소요시간(시간), TaskTable.getEstimatedDurationHours(row)
+     */
+    TaskDistribution prepare(TaskTable table, int row, double estimatedDuration);
+}
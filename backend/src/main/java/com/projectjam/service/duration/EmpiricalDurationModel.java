@@ -0,0 +1,58 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.DurationCalibration;
+import lombok.EqualsAndHashCode;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 완료 이슈의 실적/추정 비율 분위수 테이블을 쓰는 경험적 모델.
+ * 태스크의 세그먼트에 충분한 표본이 없으면 fallback 모델을 사용한다.
+ */
+public final class EmpiricalDurationModel implements DurationModel {
+
+    public static final String NAME = "empirical";
+
+    private final DurationCalibration calibration;
+    private final DurationModel fallback;
+
+    public EmpiricalDurationModel(DurationCalibration calibration, DurationModel fallback) {
+        this.calibration = calibration;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TaskDistribution prepare(TaskTable table, int row, double estimatedDuration) {
+        double[] ratioQuantiles = calibration.resolve(table.getIssueType(row), table.getPriority(row), table.getAssignee(row));
+        if (ratioQuantiles == null) {
+            return fallback.prepare(table, row, estimatedDuration);
+        }
+        return new Distribution(estimatedDuration, ratioQuantiles);
+    }
+
+    @EqualsAndHashCode
+    static final class Distribution implements TaskDistribution {
+        private final double estimatedDuration;
+        private final double[] ratioQuantiles; // 보정 갱신 후에도 값이 같으면 같은 분포
+
+        Distribution(double estimatedDuration, double[] ratioQuantiles) {
+            this.estimatedDuration = estimatedDuration;
+            this.ratioQuantiles = ratioQuantiles;
+        }
+
+        @Override
+        public void fill(RandomGenerator random, double[] samples, int offset, int length) {
+            // 과거 실적/추정 비율 분위수 테이블에서 역변환 샘플링 (샘플당 O(1))
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                samples[i] = estimatedDuration * DurationCalibration.sampleRatio(ratioQuantiles, random.nextDouble());
+            }
+        }
+    }
+}
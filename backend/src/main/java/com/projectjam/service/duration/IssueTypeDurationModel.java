@@ -0,0 +1,35 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskTable;
+
+import java.util.Map;
+
+/**
+ * 이슈 유형별로 다른 모델을 쓰고, 지정되지 않은 유형은 기본 모델을 쓰는 조합 모델.
+ */
+public final class IssueTypeDurationModel implements DurationModel {
+
+    private final DurationModel defaultModel;
+    private final Map<String, DurationModel> modelsByIssueType;
+
+    public IssueTypeDurationModel(DurationModel defaultModel, Map<String, DurationModel> modelsByIssueType) {
+        this.defaultModel = defaultModel;
+        this.modelsByIssueType = Map.copyOf(modelsByIssueType);
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder(defaultModel.getName());
+        modelsByIssueType.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> name.append(';').append(entry.getKey()).append('=').append(entry.getValue().getName()));
+        return name.toString();
+    }
+
+    @Override
+    public TaskDistribution prepare(TaskTable table, int row, double estimatedDuration) {
+        String issueType = table.getIssueType(row);
+        DurationModel model = issueType != null ? modelsByIssueType.getOrDefault(issueType, defaultModel) : defaultModel;
+        return model.prepare(table, row, estimatedDuration);
+    }
+}
@@ -0,0 +1,55 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskTable;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 로그정규 분포. 중앙값은 기준 소요시간이고, 비관 추정치가 P90이 되도록 σ를 정한다.
+ * 상한이 없는 오른쪽 꼬리로 큰 지연(재작업, 블로킹)을 표현한다.
+ */
+public final class LognormalDurationModel implements DurationModel {
+
+    public static final String NAME = "lognormal";
+    private static final double Z90 = 1.2815515655446004; // 표준정규 90% 분위수
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TaskDistribution prepare(TaskTable table, int row, double estimatedDuration) {
+        double pessimistic = ThreePointEstimate.pessimistic(estimatedDuration, table.getPriorityLevel(row));
+        if (estimatedDuration <= 0 || pessimistic <= estimatedDuration) {
+            return new Distribution(estimatedDuration, 0.0);
+        }
+        return new Distribution(estimatedDuration, Math.log(pessimistic / estimatedDuration) / Z90);
+    }
+
+    @EqualsAndHashCode
+    static final class Distribution implements TaskDistribution {
+        private final double median;
+        private final double sigma;
+
+        Distribution(double median, double sigma) {
+            this.median = median;
+            this.sigma = sigma;
+        }
+
+        @Override
+        public void fill(RandomGenerator random, double[] samples, int offset, int length) {
+            int end = offset + length;
+            if (sigma == 0) {
+                Arrays.fill(samples, offset, end, median);
+                return;
+            }
+
+            for (int i = offset; i < end; i++) {
+                samples[i] = median * Math.exp(sigma * random.nextGaussian());
+            }
+        }
+    }
+}
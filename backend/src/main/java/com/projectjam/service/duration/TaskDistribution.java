@@ -0,0 +1,17 @@
+package com.projectjam.service.duration;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 파라미터가 확정된 태스크 하나의 소요시간 분포.
+ *
+ * 구현은 불변이어야 하며, 파라미터가 같으면 equals가 true여야 한다.
+ * 보관 실행은 equals로 분포가 바뀐 태스크만 골라 다시 샘플링한다.
+ */
+public interface TaskDistribution {
+
+    /**
+     * samples[offset, offset + length) 구간을 random으로 생성한 샘플(시간)로 채운다.
+     */
+    void fill(RandomGenerator random, double[] samples, int offset, int length);
+}
@@ -0,0 +1,28 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskPriority;
+
+/**
+ * 기준 소요시간에서 낙관/비관 추정치를 정하는 공통 규칙 (삼각분포, PERT, 로그정규가 공유).
+ */
+final class ThreePointEstimate {
+
+    private ThreePointEstimate() {
+    }
+
+    static double optimistic(double estimatedDuration) {
+        return estimatedDuration * 0.7; // 30% 단축 가능
+    }
+
+    static double pessimistic(double estimatedDuration, TaskPriority priority) {
+        double pessimistic = estimatedDuration * 2.0; // 100% 초과 가능
+
+        // 우선순위에 따른 리스크 조정
+        if (priority == TaskPriority.HIGH) {
+            pessimistic *= 1.5; // 높은 우선순위는 더 많은 불확실성
+        } else if (priority == TaskPriority.LOW) {
+            pessimistic *= 0.8; // 낮은 우선순위는 상대적으로 안정적
+        }
+        return pessimistic;
+    }
+}
@@ -0,0 +1,67 @@
+package com.projectjam.service.duration;
+
+import com.projectjam.model.TaskTable;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 삼각분포 (낙관 0.7배, 최빈 1배, 비관 2배 × 우선순위 조정). 기본 모델.
+ */
+public final class TriangularDurationModel implements DurationModel {
+
+    public static final String NAME = "triangular";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public TaskDistribution prepare(TaskTable table, int row, double estimatedDuration) {
+        return new Distribution(ThreePointEstimate.optimistic(estimatedDuration), estimatedDuration,
+                ThreePointEstimate.pessimistic(estimatedDuration, table.getPriorityLevel(row)));
+    }
+
+    @EqualsAndHashCode
+    static final class Distribution implements TaskDistribution {
+        private final double optimistic;
+        private final double mostLikely;
+        private final double pessimistic;
+        @EqualsAndHashCode.Exclude
+        private final double modeFraction;
+        @EqualsAndHashCode.Exclude
+        private final double lowerScale;
+        @EqualsAndHashCode.Exclude
+        private final double upperScale;
+
+        Distribution(double optimistic, double mostLikely, double pessimistic) {
+            this.optimistic = optimistic;
+            this.mostLikely = mostLikely;
+            this.pessimistic = pessimistic;
+
+            double range = pessimistic - optimistic;
+            this.modeFraction = range > 0 ? (mostLikely - optimistic) / range : 0;
+            this.lowerScale = range * (mostLikely - optimistic);
+            this.upperScale = range * (pessimistic - mostLikely);
+        }
+
+        @Override
+        public void fill(RandomGenerator random, double[] samples, int offset, int length) {
+            int end = offset + length;
+            if (pessimistic - optimistic <= 0) {
+                Arrays.fill(samples, offset, end, mostLikely);
+                return;
+            }
+
+            // 삼각분포 역누적분포함수로 직접 샘플링 (샘플마다 분포 객체를 만들지 않음)
+            for (int i = offset; i < end; i++) {
+                double u = random.nextDouble();
+                samples[i] = u < modeFraction
+                        ? optimistic + Math.sqrt(u * lowerScale)
+                        : pessimistic - Math.sqrt((1 - u) * upperScale);
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.projectjam.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projectjam.ProjectRiskAnalyzerApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * REST API 처리량/지연시간 부하 테스트 하네스.
+ *
+ * 기본적으로 jira-stub 프로파일로 백엔드를 같은 JVM에 띄우고 자기 자신을 Jira로 사용하므로
+ * 네트워크나 실제 Jira 없이 fetch → simulate → serialize 전체 경로를 측정한다.
+ * --target을 지정하면 이미 떠 있는 백엔드를 대상으로 부하만 발생시킨다.
+ *
+ * 요청은 시나리오의 requestsPerSecond에 맞춘 고정 일정(open-loop)으로 보내고, 지연시간은 실제 전송 시각이 아니라
+ * 예정 시각부터 잰다. 서버가 느려져 워커가 밀리면 그 대기 시간까지 지연시간에 포함되므로
+ * 닫힌 루프에서 생기는 coordinated omission(느린 구간의 요청 수 자체가 줄어드는 왜곡)이 없다.
+ * 워커마다 X-Client-Id가 다르며, 수용 제어의 429/503 응답은 오류와 별도로 rejected로 집계한다.
+ *
+ * 테스트 소스에 있으므로 운영 jar에는 포함되지 않는다.
+ * 실행: mvn -Ploadtest test-compile exec:java -Dexec.args="--scenarios=loadtest/scenarios.json --output=loadtest.json"
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    private static final String API_PREFIX = "/api/risk-analysis";
+    private static final long HISTOGRAM_MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final String DEFAULT_STUB_PROJECTS = "SMALL:50,MEDIUM:300,LARGE:2000";
+    private static final String DEFAULT_PROJECT = "SMALL";
+    private static final String DEFAULT_ITERATIONS = "10000";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public LoadTestHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        List<LoadTestScenario> scenarios = loadScenarios(options.get("scenarios"));
+
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        if (target == null) {
+            String port = options.getOrDefault("port", "18080");
+            context = startEmbeddedBackend(port, options.getOrDefault("stub-projects", DEFAULT_STUB_PROJECTS));
+            target = "http://localhost:" + port;
+        }
+
+        try {
+            LoadTestHarness harness = new LoadTestHarness(target);
+            List<Map<String, Object>> reports = new ArrayList<>();
+            for (LoadTestScenario scenario : scenarios) {
+                Map<String, Object> report = harness.run(scenario);
+                logReport(report);
+                reports.add(report);
+            }
+
+            if (options.containsKey("output")) {
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                        .writeValue(Paths.get(options.get("output")).toFile(), reports);
+                log.info("Report written to {}", options.get("output"));
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    public Map<String, Object> run(LoadTestScenario scenario) throws InterruptedException {
+        if (scenario.getRequestsPerSecond() <= 0) {
+            throw new IllegalArgumentException("Scenario '" + scenario.getName() + "' must set requestsPerSecond > 0");
+        }
+        log.info("Scenario '{}': rate={}/s, concurrency={}, warmup={}s, duration={}s", scenario.getName(),
+                scenario.getRequestsPerSecond(), scenario.getConcurrency(), scenario.getWarmupSeconds(), scenario.getDurationSeconds());
+
+        WeightedChoice<String> endpoints = WeightedChoice.of(scenario.getEndpointWeights(), "simulate");
+        WeightedChoice<String> projects = WeightedChoice.of(scenario.getProjectWeights(), DEFAULT_PROJECT);
+        WeightedChoice<String> iterations = WeightedChoice.of(scenario.getIterationWeights(), DEFAULT_ITERATIONS);
+
+        // 워밍업 구간은 측정하지 않고 JIT/캐시만 데움
+        runPhase(scenario, endpoints, projects, iterations, scenario.getWarmupSeconds(), null);
+
+        Measurements measurements = new Measurements();
+        GcSnapshot gcBefore = GcSnapshot.take();
+        resetPeakHeap();
+        long startNanos = System.nanoTime();
+
+        runPhase(scenario, endpoints, projects, iterations, scenario.getDurationSeconds(), measurements);
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        GcSnapshot gcAfter = GcSnapshot.take();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.getName());
+        report.put("concurrency", scenario.getConcurrency());
+        report.put("targetPerSecond", scenario.getRequestsPerSecond());
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("requests", measurements.total.getTotalCount());
+        report.put("errors", measurements.errors.get());
+        report.put("errorRate", measurements.errorRate());
+        report.put("rejected", measurements.rejected.get());
+        report.put("throughputPerSecond", measurements.total.getTotalCount() / elapsedSeconds);
+        report.put("latencyMillis", latencySummary(measurements.total));
+
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        measurements.byEndpoint.forEach((endpoint, histogram) -> byEndpoint.put(endpoint, latencySummary(histogram)));
+        report.put("latencyMillisByEndpoint", byEndpoint);
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collections", gcAfter.collections - gcBefore.collections);
+        gc.put("pauseMillis", gcAfter.timeMillis - gcBefore.timeMillis);
+        gc.put("heapUsedMb", gcAfter.heapUsedBytes / (1024.0 * 1024.0));
+        gc.put("heapPeakMb", peakHeapBytes() / (1024.0 * 1024.0));
+        report.put("gc", gc);
+        return report;
+    }
+
+    private void runPhase(LoadTestScenario scenario, WeightedChoice<String> endpoints, WeightedChoice<String> projects,
+                          WeightedChoice<String> iterations, int seconds, Measurements measurements) throws InterruptedException {
+        if (seconds <= 0) {
+            return;
+        }
+
+        // 요청 k의 예정 시각은 start + k × interval. 워커는 다음 번호를 받아 예정 시각까지 기다렸다가 보낸다.
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalNanos = Math.max(1, Math.round(1e9 / scenario.getRequestsPerSecond()));
+        AtomicLong nextRequest = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(scenario.getConcurrency());
+
+        for (int w = 0; w < scenario.getConcurrency(); w++) {
+            long workerSeed = w * 0x9E3779B97F4A7C15L;
+            String clientId = "loadtest-" + w;
+            workers.submit(() -> {
+                SplittableRandom random = new SplittableRandom(workerSeed);
+                while (true) {
+                    long intended = start + nextRequest.getAndIncrement() * intervalNanos;
+                    if (intended >= deadline) {
+                        break;
+                    }
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+
+                    String endpoint = endpoints.pick(random);
+                    HttpRequest request = buildRequest(endpoint, projects.pick(random), iterations.pick(random), clientId);
+
+                    int status;
+                    try {
+                        status = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+
+                    if (measurements != null) {
+                        measurements.record(endpoint, micros, status);
+                    }
+                }
+            });
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(seconds + 600L, TimeUnit.SECONDS);
+    }
+
+    private HttpRequest buildRequest(String endpoint, String projectKey, String iterations, String clientId) {
+        String path;
+        HttpRequest.BodyPublisher body = null;
+
+        switch (endpoint) {
+            case "simulate":
+                path = "/projects/" + projectKey + "/simulate";
+                body = HttpRequest.BodyPublishers.ofString("{\"numSimulations\": " + iterations + "}");
+                break;
+            case "tasks":
+                path = "/projects/" + projectKey + "/tasks";
+                break;
+            case "lightweight":
+                path = "/projects/" + projectKey + "/tasks/lightweight";
+                break;
+            case "projects":
+                path = "/projects";
+                break;
+            case "health":
+                path = "/health";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + API_PREFIX + path))
+                .timeout(Duration.ofMinutes(5))
+                .header("X-Client-Id", clientId);
+        if (body != null) {
+            builder.header("Content-Type", "application/json").POST(body);
+        } else {
+            builder.GET();
+        }
+        return builder.build();
+    }
+
+    private static ConfigurableApplicationContext startEmbeddedBackend(String port, String stubProjects) {
+        // 백엔드 자신이 jira-stub 프로파일로 Jira 역할까지 수행
+        return SpringApplication.run(ProjectRiskAnalyzerApplication.class,
+                "--spring.profiles.active=jira-stub",
+                "--server.port=" + port,
+                "--jira.url=http://localhost:" + port,
+                "--jira.mode=live",
+                "--jira.stub.projects=" + stubProjects,
+                "--history.enabled=false",
+                // 캐시 적중이나 로컬 저장소 조회가 아닌 Jira 조회 + 시뮬레이션 경로를 측정
+                "--simulation.precompute.enabled=false",
+                "--jira.task-store.enabled=false",
+                // 모든 워커가 같은 주소에서 접속하므로 주소 한도는 풀고 클라이언트별 동시 실행 한도만 적용
+                "--admission.per-address-max-concurrent=" + Integer.MAX_VALUE,
+                "--admission.per-address-cost-budget=" + Long.MAX_VALUE,
+                // 시나리오의 큰 요청(LARGE × 50,000회 등)이 요청당 비용 한도로 400이 되지 않도록 비용 한도는 풂
+                "--admission.per-client-cost-budget=" + Long.MAX_VALUE,
+                "--admission.global-cost-budget=" + Long.MAX_VALUE,
+                "--logging.level.root=WARN",
+                "--logging.level.com.projectjam=WARN",
+                "--logging.level.com.projectjam.loadtest=INFO",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.web.reactive.function.client.WebClient=WARN");
+    }
+
+    private static List<LoadTestScenario> loadScenarios(String location) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TypeReference<List<LoadTestScenario>> type = new TypeReference<>() {};
+
+        if (location != null) {
+            return objectMapper.readValue(Paths.get(location).toFile(), type);
+        }
+        try (InputStream in = LoadTestHarness.class.getResourceAsStream("/loadtest/scenarios.json")) {
+            return objectMapper.readValue(in, type);
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Map<String, Object> latencySummary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", histogram.getMean() / 1000.0);
+        summary.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("max", histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void logReport(Map<String, Object> report) {
+        Map<String, Object> latency = (Map<String, Object>) report.get("latencyMillis");
+        Map<String, Object> gc = (Map<String, Object>) report.get("gc");
+
+        log.info("requests={} errors={} ({}%) rejected={} throughput={} req/s (target {})",
+                report.get("requests"), report.get("errors"), String.format("%.2f", (double) report.get("errorRate") * 100),
+                report.get("rejected"), String.format("%.1f", report.get("throughputPerSecond")), report.get("targetPerSecond"));
+        log.info("latency ms: mean={} p50={} p90={} p99={} p99.9={} max={}", format(latency.get("mean")), format(latency.get("p50")),
+                format(latency.get("p90")), format(latency.get("p99")), format(latency.get("p999")), format(latency.get("max")));
+        ((Map<String, Object>) report.get("latencyMillisByEndpoint")).forEach((endpoint, value) -> {
+            Map<String, Object> endpointLatency = (Map<String, Object>) value;
+            log.info("  {} n={} p50={} p99={}", endpoint, endpointLatency.get("count"),
+                    format(endpointLatency.get("p50")), format(endpointLatency.get("p99")));
+        });
+        log.info("gc: collections={} pause={}ms heapUsed={}MB heapPeak={}MB", gc.get("collections"), gc.get("pauseMillis"),
+                String.format("%.0f", gc.get("heapUsedMb")), String.format("%.0f", gc.get("heapPeakMb")));
+    }
+
+    private static String format(Object millis) {
+        return String.format("%.1f", millis);
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static final class Measurements {
+        private final Histogram total = new ConcurrentHistogram(HISTOGRAM_MAX_MICROS, 3);
+        private final Map<String, Histogram> byEndpoint = new ConcurrentHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private void record(String endpoint, long micros, int status) {
+            long value = Math.min(Math.max(1, micros), HISTOGRAM_MAX_MICROS);
+            total.recordValue(value);
+            byEndpoint.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(HISTOGRAM_MAX_MICROS, 3)).recordValue(value);
+            if (status == 429 || status == 503) {
+                rejected.incrementAndGet();
+            } else if (status / 100 != 2) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private double errorRate() {
+            long count = total.getTotalCount();
+            return count == 0 ? 0.0 : (double) errors.get() / count;
+        }
+    }
+
+    private static final class GcSnapshot {
+        private long collections;
+        private long timeMillis;
+        private long heapUsedBytes;
+
+        private static GcSnapshot take() {
+            GcSnapshot snapshot = new GcSnapshot();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                snapshot.collections += Math.max(0, gc.getCollectionCount());
+                snapshot.timeMillis += Math.max(0, gc.getCollectionTime());
+            }
+            snapshot.heapUsedBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            return snapshot;
+        }
+    }
+
+    private static final class WeightedChoice<T> {
+        private final List<T> values = new ArrayList<>();
+        private double[] cumulative = new double[0];
+
+        private static WeightedChoice<String> of(Map<String, Double> weights, String defaultValue) {
+            WeightedChoice<String> choice = new WeightedChoice<>();
+            if (weights == null || weights.isEmpty()) {
+                weights = Map.of(defaultValue, 1.0);
+            }
+            double sum = 0;
+            List<Double> sums = new ArrayList<>();
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > 0) {
+                    sum += entry.getValue();
+                    choice.values.add(entry.getKey());
+                    sums.add(sum);
+                }
+            }
+            if (choice.values.isEmpty()) {
+                throw new IllegalArgumentException("Weights must contain at least one positive entry: " + weights);
+            }
+            choice.cumulative = sums.stream().mapToDouble(d -> d).toArray();
+            return choice;
+        }
+
+        private T pick(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            for (int i = 0; i < cumulative.length; i++) {
+                if (target < cumulative[i]) {
+                    return values.get(i);
+                }
+            }
+            return values.get(values.size() - 1);
+        }
+    }
+}
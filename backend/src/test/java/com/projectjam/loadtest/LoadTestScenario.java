@@ -0,0 +1,28 @@
+package com.projectjam.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 시나리오 정의 (loadtest/scenarios.json).
+ */
+@Data
+@NoArgsConstructor
+public class LoadTestScenario {
+    private String name;
+    // 초당 요청 수 (open-loop 일정, 필수)
+    private double requestsPerSecond;
+    // 동시에 요청을 보낼 수 있는 최대 워커 수. 모두 응답을 기다리는 중이면 이후 요청은 예정 시각보다 늦게 나간다.
+    private int concurrency = 8;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 30;
+    // 엔드포인트별 가중치: simulate, tasks, lightweight, projects, health
+    private Map<String, Double> endpointWeights = new LinkedHashMap<>();
+    // 프로젝트 키별 가중치 (스텁 프로젝트 크기 분포)
+    private Map<String, Double> projectWeights = new LinkedHashMap<>();
+    // 시뮬레이션 횟수별 가중치
+    private Map<String, Double> iterationWeights = new LinkedHashMap<>();
+}
@@ -0,0 +1,122 @@
+package com.projectjam.loadtest;
+
+import com.projectjam.model.TaskTable;
+import com.projectjam.service.MonteCarloService;
+import com.projectjam.service.duration.DurationModel;
+import com.projectjam.service.duration.LognormalDurationModel;
+import com.projectjam.service.duration.PertDurationModel;
+import com.projectjam.service.duration.TaskDistribution;
+import com.projectjam.service.duration.TriangularDurationModel;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.math3.distribution.TriangularDistribution;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 소요시간 샘플링 마이크로벤치마크 (샘플당 ns).
+ *
+ * 예전 방식(샘플마다 commons-math TriangularDistribution 생성), 분포 구현을 샘플마다 호출하는 방식,
+ * 블록 단위 fill을 같은 태스크/반복 수로 비교한다. Spring 컨텍스트 없이 실행한다.
+ *
+ * 실행: mvn -Ploadtest test-compile exec:java -Dloadtest.main-class=com.projectjam.loadtest.SamplingBenchmark -Dexec.args="--tasks=200 --iterations=100000"
+ */
+@Slf4j
+public class SamplingBenchmark {
+
+    private static final String[] PRIORITIES = {"Highest", "High", "Medium", "Low", "Lowest"};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        int taskCount = Integer.parseInt(options.getOrDefault("tasks", "200"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "100000"));
+
+        TaskTable table = syntheticTable(taskCount);
+        double[] estimates = table.getEstimatedDurationsHours();
+        double[] samples = new double[iterations];
+
+        log.info("tasks={} iterations={} (ns/sample, {} rounds after {} warm-up rounds)",
+                taskCount, iterations, MEASURED_ROUNDS, WARMUP_ROUNDS);
+        report("legacy per-sample TriangularDistribution", taskCount, iterations,
+                () -> legacyTriangular(estimates, samples));
+
+        DurationModel[] models = {
+                new TriangularDurationModel(),
+                new PertDurationModel(),
+                new LognormalDurationModel()
+        };
+        for (DurationModel model : models) {
+            TaskDistribution[] distributions = prepare(model, table, estimates);
+            report(model.getName() + " per-sample call", taskCount, iterations,
+                    () -> perSample(distributions, samples));
+            report(model.getName() + " block fill", taskCount, iterations,
+                    () -> blockFill(distributions, samples));
+        }
+    }
+
+    private static void report(String name, int taskCount, int iterations, Runnable body) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            body.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            body.run();
+        }
+        double nanosPerSample = (double) (System.nanoTime() - started) / MEASURED_ROUNDS / taskCount / iterations;
+        log.info(String.format("%-45s %8.2f", name, nanosPerSample));
+    }
+
+    private static void legacyTriangular(double[] estimates, double[] samples) {
+        JDKRandomGenerator random = new JDKRandomGenerator(42);
+        for (int t = 0; t < estimates.length; t++) {
+            double estimate = estimates[t];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = new TriangularDistribution(random, estimate * 0.7, estimate, estimate * 2).sample();
+            }
+        }
+    }
+
+    private static void perSample(TaskDistribution[] distributions, double[] samples) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (TaskDistribution distribution : distributions) {
+            for (int i = 0; i < samples.length; i++) {
+                distribution.fill(random, samples, i, 1);
+            }
+        }
+    }
+
+    private static void blockFill(TaskDistribution[] distributions, double[] samples) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (TaskDistribution distribution : distributions) {
+            for (int from = 0; from < samples.length; from += MonteCarloService.BLOCK_SIZE) {
+                distribution.fill(random, samples, from, Math.min(MonteCarloService.BLOCK_SIZE, samples.length - from));
+            }
+        }
+    }
+
+    private static TaskDistribution[] prepare(DurationModel model, TaskTable table, double[] estimates) {
+        TaskDistribution[] distributions = new TaskDistribution[estimates.length];
+        for (int t = 0; t < estimates.length; t++) {
+            distributions[t] = model.prepare(table, t, estimates[t]);
+        }
+        return distributions;
+    }
+
+    private static TaskTable syntheticTable(int taskCount) {
+        TaskTable.Builder builder = TaskTable.builder(false);
+        for (int i = 0; i < taskCount; i++) {
+            builder.add("BENCH-" + (i + 1), "To Do", PRIORITIES[i % PRIORITIES.length], "Task", null,
+                    TaskTable.NO_DATE, TaskTable.NO_DATE, (1 + i % 40) * 3600, null, null);
+        }
+        return builder.build();
+    }
+}
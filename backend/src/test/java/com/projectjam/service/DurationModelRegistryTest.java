@@ -0,0 +1,53 @@
+package com.projectjam.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 모델 지정 문자열 생성(DurationModelRegistry.spec)과 보정이 없을 때 기록되는 모델 이름 검증.
+ */
+class DurationModelRegistryTest {
+
+    private final DurationModelRegistry registry = new DurationModelRegistry(null);
+
+    @Test
+    void buildsSpecFromDefaultAndIssueTypeModels() {
+        Map<String, String> byIssueType = new LinkedHashMap<>();
+        byIssueType.put("Bug", "lognormal");
+        byIssueType.put("Task", "empirical");
+
+        assertEquals("pert;Bug=lognormal;Task=empirical", registry.spec("pert", byIssueType));
+    }
+
+    @Test
+    void rejectsSeparatorsInIssueTypeOrModelNames() {
+        assertThrows(IllegalArgumentException.class, () -> registry.spec("pert", Map.of("Bug;Task", "lognormal")));
+        assertThrows(IllegalArgumentException.class, () -> registry.spec("pert", Map.of("Bug=x", "lognormal")));
+        assertThrows(IllegalArgumentException.class, () -> registry.spec("pert", Map.of("Bug", "lognormal;Task=pert")));
+        assertThrows(IllegalArgumentException.class, () -> registry.spec("pert;Bug=lognormal", Map.of()));
+    }
+
+    @Test
+    void namesTriangularWhenEmpiricalHasNoCalibration() {
+        DurationCalibration empty = new DurationCalibration(Map.of());
+        DurationCalibration calibrated = new DurationCalibration(Map.of(
+                DurationCalibration.segmentKey(DurationCalibration.ANY, DurationCalibration.ANY, DurationCalibration.ANY),
+                new double[]{0.5, 1.0, 2.0}));
+
+        assertEquals("triangular", registry.create("empirical", (DurationCalibration) null).getName());
+        assertEquals("triangular", registry.create("empirical", empty).getName());
+        assertEquals("pert;Bug=triangular", registry.create("pert;Bug=empirical", empty).getName());
+        assertEquals("empirical", registry.create("empirical", calibrated).getName());
+
+        assertTrue(registry.fellBack("pert;Bug=empirical", "pert;Bug=triangular"));
+        assertFalse(registry.fellBack("pert;Bug=empirical", "pert;Bug=empirical"));
+        assertFalse(registry.fellBack("triangular", "triangular"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.projectjam.service;
+
+import com.projectjam.model.GroupRollup;
+import com.projectjam.model.JiraTask;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskGrouping;
+import com.projectjam.model.TaskTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.projectjam.service.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 그룹 집계(GroupRollups)가 소속 태스크 샘플 컬럼의 반복별 합계를 요약하는지 확인한다.
+ * 태스크 샘플은 (시드, 태스크 키)로만 정해지므로 태스크 하나짜리 실행의 분포가 곧 그 태스크의 컬럼이다.
+ */
+class GroupRollupsTest {
+
+    private static final int ITERATIONS = 20000;
+    private static final long SEED = 11L;
+
+    private static final List<JiraTask> TASKS = List.of(
+            task("G-1", 8, "alice", List.of("1.0")),
+            task("G-2", 16, "alice", List.of("1.0", "2.0")),
+            task("G-3", 4, "bob", List.of()),
+            task("G-4", 24, null, List.of("2.0")));
+
+    private final MonteCarloService monteCarloService = new MonteCarloService();
+
+    @Test
+    void groupTotalsEqualSumOfMemberColumns() {
+        Map<String, List<GroupRollup>> rollups = simulate();
+
+        List<GroupRollup> assignees = rollups.get(TaskGrouping.ASSIGNEE.getName());
+        assertEquals(3, assignees.size());
+        assertRollup(find(assignees, "alice"), "G-1", "G-2");
+        assertRollup(find(assignees, "bob"), "G-3");
+        assertRollup(find(assignees, null), "G-4");
+    }
+
+    @Test
+    void taskWithSeveralFixVersionsCountsInEach() {
+        List<GroupRollup> versions = simulate().get(TaskGrouping.FIX_VERSION.getName());
+
+        assertEquals(3, versions.size());
+        assertRollup(find(versions, "1.0"), "G-1", "G-2");
+        assertRollup(find(versions, "2.0"), "G-2", "G-4");
+        assertRollup(find(versions, null), "G-3");
+        // G-2가 두 릴리스에 모두 포함되므로 그룹 태스크 수 합은 태스크 수보다 큼
+        assertEquals(TASKS.size() + 1, versions.stream().mapToInt(GroupRollup::getTaskCount).sum());
+    }
+
+    @Test
+    void groupWithoutValueIsLastAndNamedNull() {
+        for (List<GroupRollup> groups : simulate().values()) {
+            assertNull(groups.get(groups.size() - 1).getGroup());
+        }
+    }
+
+    private Map<String, List<GroupRollup>> simulate() {
+        SimulationResult result = monteCarloService.runSimulation(TaskTable.from(TASKS), ITERATIONS, null, SEED,
+                List.of(TaskGrouping.ASSIGNEE, TaskGrouping.FIX_VERSION));
+        return result.getGroupRollups();
+    }
+
+    private void assertRollup(GroupRollup rollup, String... memberKeys) {
+        double[] sums = new double[ITERATIONS];
+        double estimated = 0;
+        for (String key : memberKeys) {
+            JiraTask member = TASKS.stream().filter(task -> task.getKey().equals(key)).findFirst().orElseThrow();
+            List<Double> column = monteCarloService.runSimulation(TaskTable.from(List.of(member)), ITERATIONS, null, SEED)
+                    .getDurationDistribution();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sums[i] += column.get(i);
+            }
+            estimated += member.getOriginalEstimate() / 3600.0;
+        }
+        double sum = 0;
+        for (double x : sums) {
+            sum += x;
+        }
+        double[] sorted = SortedSamples.sortedCopy(sums);
+
+        assertEquals(memberKeys.length, rollup.getTaskCount());
+        assertEquals(estimated, rollup.getEstimatedDuration(), 1e-9);
+        assertEquals(sum / ITERATIONS, rollup.getMeanDuration(), 1e-9 * rollup.getMeanDuration());
+        assertEquals(SortedSamples.quantile(sorted, 0.5), rollup.getP50Duration(), 1e-9);
+        assertEquals(SortedSamples.quantile(sorted, 0.8), rollup.getP80Duration(), 1e-9);
+        assertEquals(SortedSamples.quantile(sorted, 0.9), rollup.getP90Duration(), 1e-9);
+        assertEquals(SortedSamples.cdf(sorted, estimated), rollup.getOnTimeProbability(), 1e-12);
+    }
+
+    private static GroupRollup find(List<GroupRollup> groups, String name) {
+        return groups.stream()
+                .filter(group -> name == null ? group.getGroup() == null : name.equals(group.getGroup()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No group " + name));
+    }
+}
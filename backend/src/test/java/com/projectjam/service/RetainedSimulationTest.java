@@ -0,0 +1,100 @@
+package com.projectjam.service;
+
+import com.projectjam.model.JiraTask;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.projectjam.service.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 보관 실행의 델타 갱신(MonteCarloService.simulateRetained)이 같은 시드의 전체 실행과 같은 총합을 만드는지 확인한다.
+ */
+class RetainedSimulationTest {
+
+    private static final int ITERATIONS = MonteCarloService.BLOCK_SIZE * 2 + 123;
+    private static final long SEED = 42L;
+
+    private final MonteCarloService monteCarloService = new MonteCarloService();
+
+    @Test
+    void deltaUpdateMatchesFullSimulationWithSameSeed() {
+        RetainedRun run = newRun();
+        monteCarloService.simulateRetained(run, TaskTable.from(List.of(
+                task("P-1", 8), task("P-2", 16), task("P-3", 4), task("P-4", 24))), null);
+
+        // P-2 추정치 변경, P-3 제거, P-5 추가
+        TaskTable updated = TaskTable.from(List.of(
+                task("P-1", 8), task("P-2", 20), task("P-4", 24), task("P-5", 12)));
+        run.regeneratedSinceRebuild = -100; // 재계산 없이 델타만으로 갱신되게 함
+        SimulationResult delta = monteCarloService.simulateRetained(run, updated, null);
+
+        RetainedRun fresh = newRun();
+        monteCarloService.simulateRetained(fresh, updated, null);
+        SimulationResult full = monteCarloService.runSimulation(updated, ITERATIONS, null, SEED);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(fresh.totals[i], run.totals[i], 1e-9 * fresh.totals[i]);
+            assertEquals(full.getDurationDistribution().get(i), run.totals[i], 1e-9 * run.totals[i]);
+        }
+        assertEquals(full.getMeanDuration(), delta.getMeanDuration(), 1e-9 * full.getMeanDuration());
+        assertEquals(full.getP80Duration(), delta.getP80Duration(), 1e-9 * full.getP80Duration());
+        assertEquals(full.getTaskCompletionProbabilities(), delta.getTaskCompletionProbabilities());
+        assertEquals(full.getTaskCorrelations().keySet(), delta.getTaskCorrelations().keySet());
+    }
+
+    @Test
+    void updateDoesNotModifyPublishedColumnsOrTotals() {
+        RetainedRun run = newRun();
+        monteCarloService.simulateRetained(run, TaskTable.from(List.of(task("P-1", 8), task("P-2", 16))), null);
+
+        Map<String, RetainedRun.Column> publishedColumns = run.columns;
+        Map<String, RetainedRun.Column> columnsBefore = new HashMap<>(publishedColumns);
+        double[] publishedTotals = run.totals;
+        double[] totalsBefore = publishedTotals.clone();
+
+        monteCarloService.simulateRetained(run, TaskTable.from(List.of(task("P-1", 10), task("P-3", 4))), null);
+
+        // 잠금 없이 읽던 쪽이 보는 이전 맵/배열은 그대로여야 함
+        assertEquals(columnsBefore, publishedColumns);
+        assertArrayEquals(totalsBefore, publishedTotals);
+        assertEquals(2, run.columns.size());
+    }
+
+    @Test
+    void correlationsCoverOnlyMostVariableTasks() {
+        int taskCount = 60;
+        int correlated = monteCarloService.correlatedTaskCount(taskCount);
+        List<JiraTask> tasks = new ArrayList<>();
+        for (int i = 1; i <= taskCount; i++) {
+            tasks.add(task("P-" + i, i)); // 추정치가 클수록 표준편차도 큼
+        }
+        SimulationResult full = monteCarloService.runSimulation(TaskTable.from(tasks), ITERATIONS, null, SEED);
+        assertEquals(correlated, full.getTaskCorrelations().size());
+        assertTrue(full.getTaskCorrelations().containsKey("P-" + taskCount));
+        assertFalse(full.getTaskCorrelations().containsKey("P-1"));
+
+        // 대상 안의 태스크만 바뀐 델타 갱신도 같은 시드의 전체 실행과 같은 상관관계를 만들어야 함
+        RetainedRun run = newRun();
+        monteCarloService.simulateRetained(run, TaskTable.from(tasks), null);
+        tasks.set(taskCount - 1, task("P-" + taskCount, taskCount + 1));
+        SimulationResult delta = monteCarloService.simulateRetained(run, TaskTable.from(tasks), null);
+        SimulationResult updated = monteCarloService.runSimulation(TaskTable.from(tasks), ITERATIONS, null, SEED);
+        assertEquals(updated.getTaskCorrelations().keySet(), delta.getTaskCorrelations().keySet());
+        updated.getTaskCorrelations().forEach((task1, row) -> row.forEach((task2, correlation) ->
+                assertEquals(correlation, delta.getTaskCorrelations().get(task1).get(task2), 1e-9)));
+    }
+
+    private static RetainedRun newRun() {
+        return new RetainedRun("run", "P", ITERATIONS, SEED, "triangular");
+    }
+}
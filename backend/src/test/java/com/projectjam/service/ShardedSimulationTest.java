@@ -0,0 +1,149 @@
+package com.projectjam.service;
+
+import com.projectjam.model.ShardPartial;
+import com.projectjam.model.SimulationResult;
+import com.projectjam.model.TaskTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.projectjam.service.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 분산 실행의 청크 통계 병합(buildShardedResult)과 ExactPercentiles가 같은 시드의 단일 노드 실행과 맞는지 확인한다.
+ * 코디네이터와 같은 순서(구간별 simulateShard → 히스토그램 합산 → 대상 구간 값 수집 → resolve)로 계산한다.
+ */
+class ShardedSimulationTest {
+
+    private static final int CHUNK = MonteCarloService.SHARD_CHUNK_ITERATIONS;
+    private static final int ITERATIONS = CHUNK * 3 + 5000;
+    private static final long SEED = 7L;
+
+    private final MonteCarloService monteCarloService = new MonteCarloService();
+    private final TaskTable table = TaskTable.from(List.of(
+            task("S-1", 8), task("S-2", 16), task("S-3", 4), task("S-4", 40), task("S-5", 2), task("S-6", 24)));
+
+    @Test
+    void shardedResultMatchesSingleNodeRun() {
+        SimulationResult single = monteCarloService.runSimulation(table, ITERATIONS, null, SEED);
+        Sharded sharded = simulateSharded(new int[] {0, CHUNK, ITERATIONS});
+
+        // 구간별 총합을 이어 붙이면 단일 실행의 반복별 총합과 비트 단위로 같음
+        assertEquals(single.getDurationDistribution().size(), sharded.totals.length);
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(single.getDurationDistribution().get(i), sharded.totals[i], 0.0);
+        }
+
+        SimulationResult result = sharded.result;
+        assertEquals(single.getP50Duration(), result.getP50Duration(), 0.0);
+        assertEquals(single.getP80Duration(), result.getP80Duration(), 0.0);
+        assertEquals(single.getP90Duration(), result.getP90Duration(), 0.0);
+        assertEquals(single.getMinDuration(), result.getMinDuration(), 0.0);
+        assertEquals(single.getMaxDuration(), result.getMaxDuration(), 0.0);
+        assertEquals(single.getTaskCompletionProbabilities(), result.getTaskCompletionProbabilities());
+        // 청크 병합은 합산 순서만 다름
+        assertEquals(single.getMeanDuration(), result.getMeanDuration(), 1e-9 * single.getMeanDuration());
+        assertEquals(single.getStandardDeviation(), result.getStandardDeviation(), 1e-9 * single.getStandardDeviation());
+        for (String key : single.getTaskAnalyses().keySet()) {
+            assertEquals(single.getTaskAnalyses().get(key).getCompletionProbability(),
+                    result.getTaskAnalyses().get(key).getCompletionProbability(), 0.0);
+        }
+    }
+
+    @Test
+    void resultDoesNotDependOnShardBoundaries() {
+        SimulationResult twoShards = simulateSharded(new int[] {0, CHUNK, ITERATIONS}).result;
+        SimulationResult fourShards = simulateSharded(new int[] {0, CHUNK, CHUNK * 2, CHUNK * 3, ITERATIONS}).result;
+        SimulationResult oneShard = simulateSharded(new int[] {0, ITERATIONS}).result;
+
+        for (SimulationResult other : List.of(fourShards, oneShard)) {
+            assertEquals(twoShards.getMeanDuration(), other.getMeanDuration(), 0.0);
+            assertEquals(twoShards.getStandardDeviation(), other.getStandardDeviation(), 0.0);
+            assertEquals(twoShards.getP80Duration(), other.getP80Duration(), 0.0);
+            assertEquals(twoShards.getDurationDistribution(), other.getDurationDistribution());
+        }
+    }
+
+    @Test
+    void exactPercentilesMatchSortedPositions() {
+        double[] values = new double[1001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.floorMod(i * 7919L, 1001) * 0.37; // 순서를 섞은 값
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        double[] actual = percentiles(List.of(Arrays.copyOfRange(values, 0, 400), Arrays.copyOfRange(values, 400, values.length)),
+                sorted[0], sorted[sorted.length - 1]);
+        double[] reported = MonteCarloService.reportedPercentiles();
+        for (int k = 0; k < reported.length; k++) {
+            assertEquals(SortedSamples.quantile(sorted, reported[k] / 100), actual[k], 1e-9);
+        }
+    }
+
+    private Sharded simulateSharded(int[] boundaries) {
+        List<ShardPartial> partials = new ArrayList<>();
+        List<double[]> shardTotals = new ArrayList<>();
+        double[] totals = new double[ITERATIONS];
+        for (int s = 0; s + 1 < boundaries.length; s++) {
+            double[] shard = new double[boundaries[s + 1] - boundaries[s]];
+            partials.add(monteCarloService.simulateShard(table, null, SEED, ITERATIONS, boundaries[s], shard));
+            shardTotals.add(shard);
+            System.arraycopy(shard, 0, totals, boundaries[s], shard.length);
+        }
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (ShardPartial partial : partials) {
+            min = Math.min(min, partial.getMinTotal());
+            max = Math.max(max, partial.getMaxTotal());
+        }
+        SimulationResult result = monteCarloService.buildShardedResult(table, ITERATIONS, SEED, "triangular", partials,
+                percentiles(shardTotals, min, max));
+        return new Sharded(result, totals);
+    }
+
+    private static double[] percentiles(List<double[]> shards, double min, double max) {
+        long count = 0;
+        double binWidth = ExactPercentiles.binWidth(min, max);
+        long[] histogram = new long[ExactPercentiles.BINS];
+        for (double[] shard : shards) {
+            count += shard.length;
+            for (double x : shard) {
+                histogram[ExactPercentiles.bin(x, min, binWidth)]++;
+            }
+        }
+
+        ExactPercentiles percentiles = ExactPercentiles.of(MonteCarloService.reportedPercentiles(), count);
+        Map<Integer, List<Double>> collected = new HashMap<>();
+        for (int bin : percentiles.targetBins(histogram)) {
+            collected.put(bin, new ArrayList<>());
+        }
+        for (double[] shard : shards) {
+            for (double x : shard) {
+                List<Double> values = collected.get(ExactPercentiles.bin(x, min, binWidth));
+                if (values != null) {
+                    values.add(x);
+                }
+            }
+        }
+        Map<Integer, double[]> binValues = new HashMap<>();
+        collected.forEach((bin, values) -> binValues.put(bin, values.stream().mapToDouble(Double::doubleValue).toArray()));
+        return percentiles.resolve(histogram, binValues);
+    }
+
+    private static final class Sharded {
+        private final SimulationResult result;
+        private final double[] totals;
+
+        private Sharded(SimulationResult result, double[] totals) {
+            this.result = result;
+            this.totals = totals;
+        }
+    }
+}
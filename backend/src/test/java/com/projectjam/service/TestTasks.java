@@ -0,0 +1,31 @@
+package com.projectjam.service;
+
+import com.projectjam.model.JiraTask;
+
+import java.util.List;
+
+/**
+ * 테스트용 Jira 태스크 생성 도우미.
+ */
+final class TestTasks {
+
+    private TestTasks() {
+    }
+
+    static JiraTask task(String key, double estimateHours) {
+        return task(key, estimateHours, null, List.of());
+    }
+
+    static JiraTask task(String key, double estimateHours, String assignee, List<String> fixVersions) {
+        return JiraTask.builder()
+                .key(key)
+                .summary(key)
+                .status("To Do")
+                .priority("Medium")
+                .issueType("Task")
+                .assignee(assignee)
+                .originalEstimate((int) Math.round(estimateHours * 3600))
+                .fixVersions(fixVersions)
+                .build();
+    }
+}